@@ -6,9 +6,11 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
 import org.slf4j.LoggerFactory;
 
 /**
@@ -20,6 +22,13 @@ import org.slf4j.LoggerFactory;
 public final class ChromeDriverHelper extends WebDriverHelper {
 
   private static final String WEBDRIVER_PROPERTIES_FILENAME = "webdriver-chrome.properties";
+  // Kept referenced, an unreferenced logger may be garbage collected together with its level
+  private static final Logger SELENIUM_LOGGER = Logger.getLogger("org.openqa.selenium");
+
+  static {
+    // Disable Selenium logging once, instead of on every initialization
+    SELENIUM_LOGGER.setLevel(Level.SEVERE);
+  }
 
   /**
    * Default constructor, uses default webdriver properties file and default webdriver download
@@ -68,6 +77,8 @@ public final class ChromeDriverHelper extends WebDriverHelper {
   public void initialize() {
     MutableCapabilities capabilities = getWebDriverOptions().getCapabilities();
     ChromeOptions chromeOptions = new ChromeOptions();
+    BrowserReuse reuse = getBrowserReuse();
+    String debuggerAddress = null == reuse ? null : reuse.getDebuggerAddress();
 
     // Transfer capabilities to ChromeOptions
     getWebDriverOptions()
@@ -76,27 +87,62 @@ public final class ChromeDriverHelper extends WebDriverHelper {
         .forEach(
             capName -> chromeOptions.setCapability(capName, capabilities.getCapability(capName)));
 
-    // Add Chrome specific ChromeOptions
-    Arrays.asList(
-            Arrays.stream(getWebDriverOptions().getProperty("browser.options").split(","))
-                .map(String::trim)
-                .toArray(String[]::new))
-        .forEach(chromeOptions::addArguments);
+    if (null != debuggerAddress) {
+      // Attach to the running browser, its options were applied when it was launched
+      chromeOptions.setExperimentalOption("debuggerAddress", debuggerAddress);
+    } else {
+      // Add Chrome specific ChromeOptions
+      Arrays.asList(
+              Arrays.stream(getWebDriverOptions().getProperty("browser.options").split(","))
+                  .map(String::trim)
+                  .toArray(String[]::new))
+          .forEach(chromeOptions::addArguments);
 
-    // Disable web driver logging
-    System.setProperty(ChromeDriverService.CHROME_DRIVER_VERBOSE_LOG_PROPERTY, "false");
-    System.setProperty(ChromeDriverService.CHROME_DRIVER_SILENT_OUTPUT_PROPERTY, "true");
-    Logger.getLogger("org.openqa.selenium").setLevel(Level.SEVERE);
+      // Add options limiting browser memory, e.g. V8 heap size and number of renderer processes
+      String memoryOptions = getWebDriverOptions().getProperty("browser.memory.options");
+      if (null != memoryOptions && !memoryOptions.isEmpty()) {
+        Arrays.stream(memoryOptions.split(","))
+            .map(String::trim)
+            .forEach(chromeOptions::addArguments);
+      }
+
+      // Keep the browser running after the driver stops, with a profile surviving the session
+      if (null != reuse) {
+        chromeOptions.addArguments("--user-data-dir=" + reuse.getProfileDir().getAbsolutePath());
+        chromeOptions.setExperimentalOption("detach", true);
+      }
+    }
 
-    // Create an instance of the service to tell chromedriver to use any available port
-    ChromeDriverService service = new ChromeDriverService.Builder().usingAnyFreePort().build();
+    // Create an instance of the service to tell chromedriver which executable and any available
+    // port to use, to disable its logging and keep browser profiles in the temp directory of the
+    // session
+    ChromeDriverService service =
+        new ChromeDriverService.Builder()
+            .usingDriverExecutable(getDriverExecutable())
+            .usingAnyFreePort()
+            .withVerbose(false)
+            .withSilent(true)
+            .withEnvironment(
+                null == reuse ? createDriverEnvironment() : reuse.getDriverEnvironment())
+            .build();
 
     // Create and instantiate web driver
     try {
-      setDriver(new ChromeDriver(service, chromeOptions));
+      ChromeDriver chromeDriver = new ChromeDriver(service, chromeOptions);
+      if (null != reuse) {
+        reuse.record(chromeDriver.getCapabilities());
+        setReusedBrowserService(service);
+      }
+      setDriver(chromeDriver);
       initWebDriver(getWebDriverOptions());
     } catch (SessionNotCreatedException e) {
       LoggerFactory.getLogger(getClass()).error("Chrome driver was not initialized!", e);
     }
   }
+
+  @Override
+  protected CdpCommandExecutor getCdpCommandExecutor() {
+    WebDriver raw = getRawDriver();
+    return raw instanceof HasCdp ? ((HasCdp) raw)::executeCdpCommand : null;
+  }
 }
@@ -1,8 +1,12 @@
 package io.github.mikederban.selenium.webhelper;
 
 import java.io.File;
+import java.util.Arrays;
 import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 
 /**
@@ -62,6 +66,8 @@ public final class EdgeDriverHelper extends WebDriverHelper {
   public void initialize() {
     MutableCapabilities capabilities = getWebDriverOptions().getCapabilities();
     EdgeOptions edgeOptions = new EdgeOptions();
+    BrowserReuse reuse = getBrowserReuse();
+    String debuggerAddress = null == reuse ? null : reuse.getDebuggerAddress();
 
     // Transfer capabilities to EdgeOptions
     getWebDriverOptions()
@@ -70,7 +76,46 @@ public final class EdgeDriverHelper extends WebDriverHelper {
         .forEach(
             capName -> edgeOptions.setCapability(capName, capabilities.getCapability(capName)));
 
-    setDriver(new EdgeDriver(edgeOptions));
+    if (null != debuggerAddress) {
+      // Attach to the running browser, its options were applied when it was launched
+      edgeOptions.setExperimentalOption("debuggerAddress", debuggerAddress);
+    } else {
+      // Add options limiting browser memory, e.g. V8 heap size and number of renderer processes
+      String memoryOptions = getWebDriverOptions().getProperty("browser.memory.options");
+      if (null != memoryOptions && !memoryOptions.isEmpty()) {
+        Arrays.stream(memoryOptions.split(","))
+            .map(String::trim)
+            .forEach(edgeOptions::addArguments);
+      }
+
+      // Keep the browser running after the driver stops, with a profile surviving the session
+      if (null != reuse) {
+        edgeOptions.addArguments("--user-data-dir=" + reuse.getProfileDir().getAbsolutePath());
+        edgeOptions.setExperimentalOption("detach", true);
+      }
+    }
+
+    // Use the downloaded driver and keep browser profiles in the temp directory of the session
+    EdgeDriverService service =
+        new EdgeDriverService.Builder()
+            .usingDriverExecutable(getDriverExecutable())
+            .usingAnyFreePort()
+            .withEnvironment(
+                null == reuse ? createDriverEnvironment() : reuse.getDriverEnvironment())
+            .build();
+
+    EdgeDriver edgeDriver = new EdgeDriver(service, edgeOptions);
+    if (null != reuse) {
+      reuse.record(edgeDriver.getCapabilities());
+      setReusedBrowserService(service);
+    }
+    setDriver(edgeDriver);
     initWebDriver(getWebDriverOptions());
   }
+
+  @Override
+  protected CdpCommandExecutor getCdpCommandExecutor() {
+    WebDriver raw = getRawDriver();
+    return raw instanceof HasCdp ? ((HasCdp) raw)::executeCdpCommand : null;
+  }
 }
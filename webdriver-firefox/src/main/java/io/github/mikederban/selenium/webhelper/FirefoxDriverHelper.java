@@ -0,0 +1,106 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.util.Arrays;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxDriverLogLevel;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selenium WebDriver helper class for Firefox browser.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class FirefoxDriverHelper extends WebDriverHelper {
+
+  private static final String WEBDRIVER_PROPERTIES_FILENAME = "webdriver-firefox.properties";
+
+  /**
+   * Default constructor, uses default webdriver properties file and default webdriver download
+   * directory.
+   */
+  @SuppressWarnings("unused")
+  public FirefoxDriverHelper() {
+    super(WEBDRIVER_PROPERTIES_FILENAME, null);
+  }
+
+  /**
+   * Initializes an instance of Selenium web driver using an external property file and default
+   * webdriver download directory.
+   *
+   * @param propsFileName full file name of the driver properties file
+   */
+  @SuppressWarnings("unused")
+  public FirefoxDriverHelper(String propsFileName) {
+    super(propsFileName, null);
+  }
+
+  /**
+   * Initializes an instance of Selenium web driver using the default webdriver properties file and
+   * a custom webdriver download directory.
+   *
+   * @param downloadDir destination directory to download web driver executable
+   */
+  @SuppressWarnings("unused")
+  public FirefoxDriverHelper(File downloadDir) {
+    super(WEBDRIVER_PROPERTIES_FILENAME, downloadDir);
+  }
+
+  /**
+   * Initializes an instance of Selenium web driver using an external property file and custom
+   * driver download location.
+   *
+   * @param propsFileName full file name of the driver properties file
+   * @param downloadDir destination directory to download web driver executable
+   */
+  @SuppressWarnings("unused")
+  public FirefoxDriverHelper(String propsFileName, File downloadDir) {
+    super(propsFileName, downloadDir);
+  }
+
+  @Override
+  public void initialize() {
+    MutableCapabilities capabilities = getWebDriverOptions().getCapabilities();
+    FirefoxOptions firefoxOptions = new FirefoxOptions();
+
+    // Transfer capabilities to FirefoxOptions
+    getWebDriverOptions()
+        .getCapabilities()
+        .getCapabilityNames()
+        .forEach(
+            capName -> firefoxOptions.setCapability(capName, capabilities.getCapability(capName)));
+
+    // Add Firefox command line arguments
+    String browserOptions = getWebDriverOptions().getProperty("browser.options");
+    if (null != browserOptions && !browserOptions.isEmpty()) {
+      Arrays.stream(browserOptions.split(","))
+          .map(String::trim)
+          .forEach(firefoxOptions::addArguments);
+    }
+
+    // Disable web driver logging
+    firefoxOptions.setLogLevel(FirefoxDriverLogLevel.FATAL);
+
+    // Create an instance of the service to tell geckodriver which executable and any available
+    // port to use, and keep browser profiles in the temp directory of the session
+    GeckoDriverService service =
+        new GeckoDriverService.Builder()
+            .usingDriverExecutable(getDriverExecutable())
+            .usingAnyFreePort()
+            .withEnvironment(createDriverEnvironment())
+            .build();
+
+    // Create and instantiate web driver
+    try {
+      setDriver(new FirefoxDriver(service, firefoxOptions));
+      initWebDriver(getWebDriverOptions());
+    } catch (SessionNotCreatedException e) {
+      LoggerFactory.getLogger(getClass()).error("Firefox driver was not initialized!", e);
+    }
+  }
+}
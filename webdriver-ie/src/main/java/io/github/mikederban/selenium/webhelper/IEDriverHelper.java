@@ -3,6 +3,7 @@ package io.github.mikederban.selenium.webhelper;
 import java.io.File;
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.ie.InternetExplorerDriver;
+import org.openqa.selenium.ie.InternetExplorerDriverService;
 import org.openqa.selenium.ie.InternetExplorerOptions;
 
 /**
@@ -89,7 +90,15 @@ public final class IEDriverHelper extends WebDriverHelper {
     internetExplorerOptions.setCapability("takesScreenshot", true);
     internetExplorerOptions.setCapability("unexpectedAlertBehaviour", "ignore");
 
-    setDriver(new InternetExplorerDriver(internetExplorerOptions));
+    // Use the downloaded driver and keep its temporary files in the temp directory of the session
+    InternetExplorerDriverService service =
+        new InternetExplorerDriverService.Builder()
+            .usingDriverExecutable(getDriverExecutable())
+            .usingAnyFreePort()
+            .withEnvironment(createDriverEnvironment())
+            .build();
+
+    setDriver(new InternetExplorerDriver(service, internetExplorerOptions));
     initWebDriver(getWebDriverOptions());
   }
 }
@@ -0,0 +1,30 @@
+package io.github.mikederban.selenium.webhelper;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.assertj.core.api.AssertionsForClassTypes;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Firefox WebDriver test class.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FirefoxTest {
+
+  public static void main(String... args) {
+    // Using default constructor.
+    // You can specify a custom properties file which contains your desired WebDriver properties.
+    // You can specify a custom download directory instead od system temp location.
+    FirefoxDriverHelper firefoxDriver = new FirefoxDriverHelper();
+    firefoxDriver.initialize();
+    WebDriver driver = firefoxDriver.getDriver();
+
+    driver.navigate().to("https://google.ca/");
+    AssertionsForClassTypes.assertThat(driver.getTitle()).isEqualTo("Google");
+
+    driver.quit();
+  }
+}
@@ -0,0 +1,227 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.assertj.core.api.AssertionsForClassTypes;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Session churn and command throughput benchmark of the Chrome helper against the WebDriver stub,
+ * no browser required (Linux or macOS).
+ *
+ * <p>Every session runs the full helper lifecycle: driver service start, session creation,
+ * capability transfer, timeouts and window setup, a number of page commands and quit. The fake
+ * driver starts a JVM per session, which takes most of the initialization time; its startup is
+ * measured on its own beforehand and reported separately.
+ *
+ * <pre>
+ * StubSessionBenchmark [sessions=50] [threads=4] [commands=20] [latency=get=20,*=1]
+ * </pre>
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StubSessionBenchmark {
+
+  private static final String DRIVER_FILENAME = "chromedriver";
+  private static final String PROPERTIES_FILENAME = "webdriver-chrome.properties";
+
+  public static void main(String... args) throws IOException, InterruptedException {
+    int sessions = 0 < args.length ? Integer.parseInt(args[0]) : 50;
+    int threads = 1 < args.length ? Integer.parseInt(args[1]) : 4;
+    int commands = 2 < args.length ? Integer.parseInt(args[2]) : 20;
+    String latency = 3 < args.length ? args[3] : "get=20,*=1";
+
+    // Fake chromedriver listed in a driver manifest, so that the helper does not download anything
+    File benchmarkDir = WorkspaceManager.of().createDirectory("benchmark");
+    Properties properties = WebDriverHelper.getProperties(PROPERTIES_FILENAME);
+    String platform = WebDriverHelper.getPlatform(OSCheck.getOperatingSystemType());
+    File driverDir = new File(benchmarkDir, DRIVER_FILENAME);
+    File executable = WebDriverStubServer.createExecutable(driverDir, DRIVER_FILENAME, latency);
+    File manifestFile = new File(benchmarkDir, WebDriverManifest.FILENAME);
+    WebDriverManifest manifest = WebDriverManifest.load(manifestFile);
+    manifest.put(
+        DRIVER_FILENAME, platform, properties.getProperty("webdriver.version"), "stub", driverDir);
+    manifest.store();
+    properties.setProperty("webdriver.manifest", manifestFile.getAbsolutePath());
+    File propertiesFile = new File(benchmarkDir, PROPERTIES_FILENAME);
+    try (OutputStream os = Files.newOutputStream(propertiesFile.toPath())) {
+      properties.store(os, "WebDriver stub benchmark");
+    }
+
+    LatencyHistogram stubStartupMs =
+        measureStubStartup(executable, Math.max(threads, Math.min(sessions, 10)), threads);
+    LatencyHistogram initializeMs = new LatencyHistogram();
+    LatencyHistogram commandMs = new LatencyHistogram();
+    LatencyHistogram quitMs = new LatencyHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> results = new ArrayList<>();
+    long started = System.nanoTime();
+    for (int i = 0; i < sessions; i++) {
+      results.add(
+          executor.submit(
+              () -> {
+                long t0 = System.nanoTime();
+                ChromeDriverHelper chromeDriver =
+                    new ChromeDriverHelper(propertiesFile.getAbsolutePath());
+                chromeDriver.initialize();
+                initializeMs.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+                WebDriver driver = chromeDriver.getDriver();
+                for (int c = 0; c < commands; c++) {
+                  long t1 = System.nanoTime();
+                  driver.get(String.format("http://stub.test/page/%d", c));
+                  driver.findElement(By.id("submit")).click();
+                  AssertionsForClassTypes.assertThat(driver.getTitle()).contains("/page/");
+                  commandMs.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t1));
+                }
+                long t2 = System.nanoTime();
+                chromeDriver.quit();
+                quitMs.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t2));
+              }));
+    }
+    try {
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Benchmark session failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    double elapsedSec = (System.nanoTime() - started) / 1e9;
+
+    System.out.printf(
+        "%d sessions on %d threads in %.1f s: %.2f sessions/s, %.0f page iterations/s%n",
+        sessions, threads, elapsedSec, sessions / elapsedSec, sessions * commands / elapsedSec);
+    print("stub driver startup", stubStartupMs);
+    print("initialize", initializeMs);
+    System.out.printf(
+        "initialize without stub driver startup, p50 %d ms (estimate)%n",
+        initializeMs.getPercentile(50) - stubStartupMs.getPercentile(50));
+    print("get+find+click+title", commandMs);
+    print("quit", quitMs);
+  }
+
+  /**
+   * Measures the time from launching the fake driver until it answers, with as many concurrent
+   * launches as benchmark threads. The startup is part of every session initialization, but is not
+   * overhead of the helper.
+   *
+   * @param executable fake driver executable
+   * @param runs number of launches
+   * @param threads number of concurrent launches
+   * @return startup times in milliseconds
+   * @throws InterruptedException if interrupted while waiting for the fake drivers
+   */
+  private static LatencyHistogram measureStubStartup(File executable, int runs, int threads)
+      throws InterruptedException {
+    LatencyHistogram startupMs = new LatencyHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> results = new ArrayList<>();
+    for (int i = 0; i < runs; i++) {
+      results.add(
+          executor.submit(
+              () -> {
+                startupMs.record(startStub(executable));
+                return null;
+              }));
+    }
+    try {
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("WebDriver stub cannot be started", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    return startupMs;
+  }
+
+  /**
+   * Launches the fake driver, waits until it answers and stops it.
+   *
+   * @param executable fake driver executable
+   * @return startup time in milliseconds
+   * @throws IOException if the fake driver cannot be launched
+   * @throws InterruptedException if interrupted while waiting for the fake driver
+   */
+  private static long startStub(File executable) throws IOException, InterruptedException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    long t0 = System.nanoTime();
+    Process process =
+        new ProcessBuilder(executable.getAbsolutePath(), "--port=" + port)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+    try {
+      while (!isAnswering(port)) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException("WebDriver stub exited on startup");
+        }
+        Thread.sleep(5);
+      }
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+    } finally {
+      process.destroy();
+      process.waitFor();
+    }
+  }
+
+  /**
+   * Checks whether the fake driver answers status requests.
+   *
+   * @param port port of the fake driver
+   * @return true if the fake driver is up
+   */
+  private static boolean isAnswering(int port) {
+    try {
+      HttpURLConnection connection =
+          (HttpURLConnection)
+              new URL(String.format("http://127.0.0.1:%d/status", port)).openConnection();
+      try {
+        return HttpURLConnection.HTTP_OK == connection.getResponseCode();
+      } finally {
+        connection.disconnect();
+      }
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Prints percentiles of a histogram.
+   *
+   * @param name measured step
+   * @param histogram latencies in milliseconds
+   */
+  private static void print(String name, LatencyHistogram histogram) {
+    System.out.printf(
+        "%-22s p50 %5d ms  p95 %5d ms  p99 %5d ms  max %5d ms%n",
+        name,
+        histogram.getPercentile(50),
+        histogram.getPercentile(95),
+        histogram.getPercentile(99),
+        histogram.getMax());
+  }
+}
@@ -0,0 +1,597 @@
+package io.github.mikederban.selenium.webhelper;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.remote.DriverCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local W3C WebDriver protocol stub for benchmarks and tests without a browser.
+ *
+ * <p>The stub keeps per session state (URL, history, timeouts, window rectangle, cookies) and
+ * answers every other command with a plausible constant: found elements always exist, scripts
+ * return null, screenshots are a blank pixel. Each command can be delayed to simulate driver and
+ * browser latency, configured per Selenium {@link DriverCommand} name, e.g. {@code
+ * get=200,findElement=5,*=1}. DevTools commands of Chromium based browsers are accepted and return
+ * an empty result.
+ *
+ * <p>The stub runs in-process, or as a fake driver executable created by {@link
+ * #createExecutable(File, String, String)}, which lets the helpers run their full lifecycle through
+ * a driver service against it. The executable is a shell script and requires Linux or macOS.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class WebDriverStubServer implements Closeable {
+
+  public static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverStubServer.class);
+  private static final String LATENCY_DEFAULT_KEY = "*";
+  private static final String SESSION = "/session/([^/]+)";
+  private static final String ELEMENT = SESSION + "/element/([^/]+)";
+  private static final String BLANK_PNG_BASE64 =
+      "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mP8/x8AAwMCAO+ip1sAAAAASUVORK5C"
+          + "YII=";
+  private static final int HTTP_OK = 200;
+  private static final int HTTP_NOT_FOUND = 404;
+  private static final int HTTP_SERVER_ERROR = 500;
+
+  private final Json json = new Json();
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final Map<String, Long> latencyMs;
+  private final Map<String, StubSession> sessions = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> commandCounts = new ConcurrentHashMap<>();
+  private final List<Route> routes = new ArrayList<>();
+  private final CountDownLatch stopped = new CountDownLatch(1);
+  @Getter private final int port;
+
+  /**
+   * Constructor.
+   *
+   * @param port port to listen on, 0 for any free port
+   * @param latencyMs delay per command name in milliseconds, {@code *} for all other commands
+   * @throws IOException if the port cannot be bound
+   */
+  private WebDriverStubServer(int port, Map<String, Long> latencyMs) throws IOException {
+    this.latencyMs = latencyMs;
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    AtomicInteger threadCount = new AtomicInteger();
+    executor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread =
+                  new Thread(
+                      runnable, "webdriver-stub-server-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+    addRoutes();
+    server.start();
+    this.port = server.getAddress().getPort();
+  }
+
+  /**
+   * Starts a stub server.
+   *
+   * @param port port to listen on, 0 for any free port
+   * @param latency delay per command name in milliseconds, e.g. {@code get=200,*=1}, empty for no
+   *     delay
+   * @return running server
+   * @throws IOException if the port cannot be bound
+   */
+  public static WebDriverStubServer start(int port, String latency) throws IOException {
+    return new WebDriverStubServer(port, parseLatency(latency));
+  }
+
+  /**
+   * Runs a stub server as a fake driver executable. Accepts the {@code --port=N} argument passed
+   * by driver services and {@code --latency=SPEC}, other arguments are ignored.
+   *
+   * @param args command line arguments
+   * @throws IOException if the port cannot be bound
+   * @throws InterruptedException if interrupted while serving
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int port = 0;
+    String latency = "";
+    for (String arg : args) {
+      if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else if (arg.startsWith("--latency=")) {
+        latency = arg.substring("--latency=".length());
+      }
+    }
+    WebDriverStubServer stub = start(port, latency);
+    LOGGER.info(String.format("WebDriver stub listening on port [%d]", stub.getPort()));
+    stub.stopped.await();
+  }
+
+  /**
+   * Writes a fake driver executable which runs a stub server in a new JVM with the class path of
+   * the current JVM.
+   *
+   * @param dir directory to write the executable to
+   * @param filename executable file name, e.g. chromedriver
+   * @param latency delay per command name in milliseconds, e.g. {@code get=200,*=1}
+   * @return executable file
+   * @throws IOException if the file cannot be written
+   */
+  public static File createExecutable(File dir, String filename, String latency)
+      throws IOException {
+    Path executable = Files.createDirectories(dir.toPath()).resolve(filename);
+    String script =
+        String.format(
+            "#!/bin/sh%nexec '%s' -cp '%s' %s '--latency=%s' \"$@\"%n",
+            new File(new File(System.getProperty("java.home"), "bin"), "java"),
+            System.getProperty("java.class.path"),
+            WebDriverStubServer.class.getName(),
+            latency);
+    Files.write(executable, script.getBytes(StandardCharsets.UTF_8));
+    if (!executable.toFile().setExecutable(true)) {
+      throw new IOException(String.format("[%s] cannot be made executable", executable));
+    }
+    return executable.toFile();
+  }
+
+  /**
+   * Parses a latency specification.
+   *
+   * @param latency comma separated {@code command=milliseconds} pairs, e.g. {@code get=200,*=1}
+   * @return delay per command name
+   */
+  private static Map<String, Long> parseLatency(String latency) {
+    Map<String, Long> result = new HashMap<>();
+    if (null != latency) {
+      for (String pair : latency.split(",")) {
+        String[] commandAndMs = pair.trim().split("=");
+        if (2 == commandAndMs.length) {
+          result.put(commandAndMs[0].trim(), Long.parseLong(commandAndMs[1].trim()));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns number of commands received per command name.
+   *
+   * @return command counts
+   */
+  public Map<String, Long> getCommandCounts() {
+    Map<String, Long> counts = new HashMap<>();
+    commandCounts.forEach((command, count) -> counts.put(command, count.get()));
+    return counts;
+  }
+
+  /**
+   * Returns number of open sessions.
+   *
+   * @return session count
+   */
+  public int getSessionCount() {
+    return sessions.size();
+  }
+
+  /** Stops the server. */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+    stopped.countDown();
+  }
+
+  /** Registers the supported commands. */
+  private void addRoutes() {
+    route("GET", "/status", DriverCommand.STATUS, (request, session) -> getStatus());
+    route("POST", "/session", DriverCommand.NEW_SESSION, (request, session) -> newSession(request));
+    route("DELETE", SESSION, DriverCommand.QUIT, (request, session) -> quit(session));
+    route("GET", SESSION + "/timeouts", DriverCommand.GET_TIMEOUTS, (r, s) -> s.timeouts);
+    route("POST", SESSION + "/timeouts", DriverCommand.SET_TIMEOUT, this::setTimeouts);
+    route("POST", SESSION + "/url", DriverCommand.GET, this::navigate);
+    route("GET", SESSION + "/url", DriverCommand.GET_CURRENT_URL, (r, s) -> s.getUrl());
+    route("GET", SESSION + "/title", DriverCommand.GET_TITLE, (r, s) -> s.getTitle());
+    route("POST", SESSION + "/back", DriverCommand.GO_BACK, (r, s) -> s.move(-1));
+    route("POST", SESSION + "/forward", DriverCommand.GO_FORWARD, (r, s) -> s.move(1));
+    route("POST", SESSION + "/refresh", DriverCommand.REFRESH, (r, s) -> null);
+    route("GET", SESSION + "/source", DriverCommand.GET_PAGE_SOURCE, (r, s) -> s.getSource());
+    route("GET", SESSION + "/window", DriverCommand.GET_CURRENT_WINDOW_HANDLE, (r, s) -> s.id);
+    route(
+        "GET",
+        SESSION + "/window/handles",
+        DriverCommand.GET_WINDOW_HANDLES,
+        (r, s) -> List.of(s.id));
+    route("POST", SESSION + "/window", DriverCommand.SWITCH_TO_WINDOW, (r, s) -> null);
+    route("DELETE", SESSION + "/window", DriverCommand.CLOSE, (r, s) -> List.of());
+    route("GET", SESSION + "/window/rect", DriverCommand.GET_CURRENT_WINDOW_SIZE, (r, s) -> s.rect);
+    route("POST", SESSION + "/window/rect", DriverCommand.SET_CURRENT_WINDOW_SIZE, this::setRect);
+    route(
+        "POST",
+        SESSION + "/window/(maximize|minimize|fullscreen)",
+        DriverCommand.MAXIMIZE_CURRENT_WINDOW,
+        (r, s) -> s.rect);
+    route("POST", SESSION + "/frame(/parent)?", DriverCommand.SWITCH_TO_FRAME, (r, s) -> null);
+    route("POST", SESSION + "/elements?", DriverCommand.FIND_ELEMENT, this::findElements);
+    route("POST", ELEMENT + "/elements?", DriverCommand.FIND_CHILD_ELEMENT, this::findElements);
+    route(
+        "GET", SESSION + "/element/active", DriverCommand.GET_ACTIVE_ELEMENT, this::findElements);
+    route("POST", ELEMENT + "/click", DriverCommand.CLICK_ELEMENT, (r, s) -> null);
+    route("POST", ELEMENT + "/clear", DriverCommand.CLEAR_ELEMENT, (r, s) -> null);
+    route("POST", ELEMENT + "/value", DriverCommand.SEND_KEYS_TO_ELEMENT, (r, s) -> null);
+    route("GET", ELEMENT + "/text", DriverCommand.GET_ELEMENT_TEXT, (r, s) -> "");
+    route("GET", ELEMENT + "/name", DriverCommand.GET_ELEMENT_TAG_NAME, (r, s) -> "div");
+    route(
+        "GET",
+        ELEMENT + "/(attribute|property|css)/[^/]+",
+        DriverCommand.GET_ELEMENT_ATTRIBUTE,
+        (r, s) -> null);
+    route("GET", ELEMENT + "/rect", DriverCommand.GET_ELEMENT_RECT, (r, s) -> getElementRect());
+    route("GET", ELEMENT + "/enabled", DriverCommand.IS_ELEMENT_ENABLED, (r, s) -> true);
+    route("GET", ELEMENT + "/selected", DriverCommand.IS_ELEMENT_SELECTED, (r, s) -> false);
+    route("GET", ELEMENT + "/displayed", DriverCommand.IS_ELEMENT_DISPLAYED, (r, s) -> true);
+    route("GET", SESSION + "/screenshot", DriverCommand.SCREENSHOT, (r, s) -> BLANK_PNG_BASE64);
+    route(
+        "GET",
+        ELEMENT + "/screenshot",
+        DriverCommand.ELEMENT_SCREENSHOT,
+        (r, s) -> BLANK_PNG_BASE64);
+    route("POST", SESSION + "/execute/sync", DriverCommand.EXECUTE_SCRIPT, (r, s) -> null);
+    route("POST", SESSION + "/execute/async", DriverCommand.EXECUTE_ASYNC_SCRIPT, (r, s) -> null);
+    route("GET", SESSION + "/cookie", DriverCommand.GET_ALL_COOKIES, (r, s) -> s.getCookies());
+    route("GET", SESSION + "/cookie/([^/]+)", DriverCommand.GET_COOKIE, this::getCookie);
+    route("POST", SESSION + "/cookie", DriverCommand.ADD_COOKIE, this::addCookie);
+    route("DELETE", SESSION + "/cookie/([^/]+)", DriverCommand.DELETE_COOKIE, this::deleteCookie);
+    route("DELETE", SESSION + "/cookie", DriverCommand.DELETE_ALL_COOKIES, this::deleteCookies);
+    route("POST", SESSION + "/actions", DriverCommand.ACTIONS, (r, s) -> null);
+    route("DELETE", SESSION + "/actions", DriverCommand.CLEAR_ACTIONS_STATE, (r, s) -> null);
+    route("GET", SESSION + "/se/log/types", DriverCommand.GET_AVAILABLE_LOG_TYPES, this::noLogs);
+    route("POST", SESSION + "/se/log", DriverCommand.GET_LOG, (r, s) -> List.of());
+    route("POST", SESSION + "/(goog|ms)/cdp/execute", "executeCdpCommand", (r, s) -> Map.of());
+  }
+
+  /**
+   * Registers a command.
+   *
+   * @param method HTTP method
+   * @param path path pattern, session id is the first group of session commands
+   * @param command command name, used for latency and statistics
+   * @param handler handler returning the command value
+   */
+  private void route(
+      String method,
+      String path,
+      String command,
+      BiFunction<Request, StubSession, Object> handler) {
+    routes.add(new Route(method, Pattern.compile(path), command, handler));
+  }
+
+  /**
+   * Handles an HTTP request.
+   *
+   * @param exchange HTTP exchange
+   * @throws IOException if the response cannot be written
+   */
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      String method = exchange.getRequestMethod();
+      String path = exchange.getRequestURI().getPath().replaceAll("/+$", "");
+      if ("/shutdown".equals(path)) { // sent by driver services when they stop
+        respond(exchange, HTTP_OK, Collections.singletonMap("value", null));
+        close();
+        return;
+      }
+      for (Route route : routes) {
+        Matcher matcher = route.path.matcher(path);
+        if (route.method.equals(method) && matcher.matches()) {
+          handle(exchange, route, matcher);
+          return;
+        }
+      }
+      respond(
+          exchange,
+          HTTP_NOT_FOUND,
+          getError("unknown command", String.format("%s %s", method, path)));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Handles a W3C command.
+   *
+   * @param exchange HTTP exchange
+   * @param route command route
+   * @param matcher matched path
+   * @throws IOException if the response cannot be written
+   */
+  private void handle(HttpExchange exchange, Route route, Matcher matcher) throws IOException {
+    commandCounts.computeIfAbsent(route.command, command -> new AtomicLong()).incrementAndGet();
+    long delayMs =
+        latencyMs.getOrDefault(route.command, latencyMs.getOrDefault(LATENCY_DEFAULT_KEY, 0L));
+    try {
+      if (0 < delayMs) {
+        Thread.sleep(delayMs);
+      }
+      Request request = new Request(matcher, readBody(exchange));
+      StubSession session = null;
+      if (route.path.pattern().startsWith(SESSION)) {
+        session = sessions.get(matcher.group(1));
+        if (null == session) {
+          respond(exchange, HTTP_NOT_FOUND, getError("invalid session id", matcher.group(1)));
+          return;
+        }
+      }
+      Map<String, Object> response = new HashMap<>();
+      response.put("value", route.handler.apply(request, session));
+      respond(exchange, HTTP_OK, response);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      respond(exchange, HTTP_SERVER_ERROR, getError("unknown error", "Interrupted"));
+    } catch (RuntimeException e) {
+      respond(exchange, HTTP_SERVER_ERROR, getError("unknown error", String.valueOf(e)));
+    }
+  }
+
+  /**
+   * Reads the JSON request body.
+   *
+   * @param exchange HTTP exchange
+   * @return request parameters, empty if there is no body
+   * @throws IOException if the body cannot be read
+   */
+  private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+    try (InputStream is = exchange.getRequestBody()) {
+      String body = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+      return body.isBlank() ? Map.of() : json.toType(body, Json.MAP_TYPE);
+    } catch (JsonException e) {
+      return Map.of();
+    }
+  }
+
+  /**
+   * Writes a JSON response.
+   *
+   * @param exchange HTTP exchange
+   * @param status HTTP status
+   * @param response response object
+   * @throws IOException if the response cannot be written
+   */
+  private void respond(HttpExchange exchange, int status, Map<String, Object> response)
+      throws IOException {
+    StringBuilder body = new StringBuilder();
+    json.newOutput(body).setPrettyPrint(false).write(response);
+    byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+
+  /**
+   * Returns a W3C error response.
+   *
+   * @param error error code, e.g. invalid session id
+   * @param message error message
+   * @return error response
+   */
+  private static Map<String, Object> getError(String error, String message) {
+    return Map.of("value", Map.of("error", error, "message", message, "stacktrace", ""));
+  }
+
+  private Object getStatus() {
+    return Map.of("ready", true, "message", "WebDriver stub is ready");
+  }
+
+  /**
+   * Creates a session with the requested capabilities.
+   *
+   * @param request new session request
+   * @return session id and capabilities
+   */
+  private Object newSession(Request request) {
+    Map<String, Object> capabilities = new LinkedHashMap<>();
+    Object requested = request.body.get("capabilities");
+    if (requested instanceof Map) {
+      Object firstMatch = ((Map<?, ?>) requested).get("firstMatch");
+      if (firstMatch instanceof List && !((List<?>) firstMatch).isEmpty()) {
+        ((Map<?, ?>) ((List<?>) firstMatch).get(0))
+            .forEach((key, value) -> capabilities.put(String.valueOf(key), value));
+      }
+      Object alwaysMatch = ((Map<?, ?>) requested).get("alwaysMatch");
+      if (alwaysMatch instanceof Map) {
+        ((Map<?, ?>) alwaysMatch)
+            .forEach((key, value) -> capabilities.put(String.valueOf(key), value));
+      }
+    }
+    StubSession session = new StubSession();
+    capabilities.putIfAbsent("browserName", "stub");
+    capabilities.put("browserVersion", "1.0");
+    capabilities.put("platformName", System.getProperty("os.name").toLowerCase(Locale.ROOT));
+    capabilities.put("setWindowRect", true);
+    capabilities.put("timeouts", session.timeouts);
+    sessions.put(session.id, session);
+    return Map.of("sessionId", session.id, "capabilities", capabilities);
+  }
+
+  private Object quit(StubSession session) {
+    sessions.remove(session.id);
+    return null;
+  }
+
+  private Object setTimeouts(Request request, StubSession session) {
+    request.body.forEach(
+        (key, value) -> {
+          if (value instanceof Number) {
+            session.timeouts.put(key, ((Number) value).longValue());
+          }
+        });
+    return null;
+  }
+
+  private Object navigate(Request request, StubSession session) {
+    session.navigate(String.valueOf(request.body.get("url")));
+    return null;
+  }
+
+  private Object setRect(Request request, StubSession session) {
+    request.body.forEach(
+        (key, value) -> {
+          if (value instanceof Number) {
+            session.rect.put(key, ((Number) value).longValue());
+          }
+        });
+    return session.rect;
+  }
+
+  /**
+   * Returns a new element reference, or a list with one reference for find elements commands.
+   *
+   * @param request find element request
+   * @param session session
+   * @return element reference or list of references
+   */
+  private Object findElements(Request request, StubSession session) {
+    Map<String, String> element = Map.of(ELEMENT_KEY, UUID.randomUUID().toString());
+    return request.matcher.group(0).endsWith("/elements") ? List.of(element) : element;
+  }
+
+  private Object getElementRect() {
+    return Map.of("x", 0, "y", 0, "width", 100, "height", 20);
+  }
+
+  private Object getCookie(Request request, StubSession session) {
+    return session.cookies.get(request.matcher.group(2));
+  }
+
+  private Object addCookie(Request request, StubSession session) {
+    Object cookie = request.body.get("cookie");
+    if (cookie instanceof Map) {
+      Map<String, Object> copy = new HashMap<>();
+      ((Map<?, ?>) cookie).forEach((key, value) -> copy.put(String.valueOf(key), value));
+      session.cookies.put(String.valueOf(copy.get("name")), copy);
+    }
+    return null;
+  }
+
+  private Object deleteCookie(Request request, StubSession session) {
+    session.cookies.remove(request.matcher.group(2));
+    return null;
+  }
+
+  private Object deleteCookies(Request request, StubSession session) {
+    session.cookies.clear();
+    return null;
+  }
+
+  private Object noLogs(Request request, StubSession session) {
+    return List.of("browser");
+  }
+
+  /** Registered command. */
+  private static final class Route {
+
+    private final String method;
+    private final Pattern path;
+    private final String command;
+    private final BiFunction<Request, StubSession, Object> handler;
+
+    private Route(
+        String method,
+        Pattern path,
+        String command,
+        BiFunction<Request, StubSession, Object> handler) {
+      this.method = method;
+      this.path = path;
+      this.command = command;
+      this.handler = handler;
+    }
+  }
+
+  /** Parsed command request. */
+  private static final class Request {
+
+    private final Matcher matcher;
+    private final Map<String, Object> body;
+
+    private Request(Matcher matcher, Map<String, Object> body) {
+      this.matcher = matcher;
+      this.body = body;
+    }
+  }
+
+  /** State of a stub session. */
+  private static final class StubSession {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Map<String, Object> timeouts =
+        new ConcurrentHashMap<>(Map.of("implicit", 0L, "pageLoad", 300000L, "script", 30000L));
+    private final Map<String, Object> rect =
+        new ConcurrentHashMap<>(Map.of("x", 0L, "y", 0L, "width", 1280L, "height", 800L));
+    private final Map<String, Map<String, Object>> cookies = new ConcurrentHashMap<>();
+    private final List<String> history = new ArrayList<>(List.of("about:blank"));
+    private int position;
+
+    private synchronized void navigate(String url) {
+      history.subList(position + 1, history.size()).clear();
+      history.add(url);
+      position = history.size() - 1;
+    }
+
+    private synchronized Object move(int offset) {
+      position = Math.max(0, Math.min(history.size() - 1, position + offset));
+      return null;
+    }
+
+    private synchronized String getUrl() {
+      return history.get(position);
+    }
+
+    private String getTitle() {
+      return String.format("Stub page %s", getUrl());
+    }
+
+    private String getSource() {
+      return String.format(
+          "<html><head><title>%s</title></head><body></body></html>", getTitle());
+    }
+
+    private List<Map<String, Object>> getCookies() {
+      return new ArrayList<>(cookies.values());
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Navigation;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sets the page load timeout of every navigation from the load times observed for its URL
+ * template, so that a hung page fails within seconds while slow pages keep the time they need.
+ *
+ * <p>The timeout of a navigation is a high percentile of the recent load times of its URL template
+ * times a safety factor, bounded by a minimum and by the static page load timeout. URL templates
+ * with too few recorded load times, and navigations without a known target (back, forward,
+ * refresh, clicks), use the static timeout, which is restored after every adaptive navigation.
+ * A navigation which exceeds its adaptive timeout records the timeout as its load time, and the
+ * next navigation to the URL template gets the static timeout, so that a page which became slower
+ * raises its learned timeout instead of failing in every run.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class AdaptiveTimeoutListener implements WebDriverListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveTimeoutListener.class);
+
+  private final WebDriver driver;
+  private final PageLoadTimes pageLoadTimes;
+  private final long staticTimeoutMs;
+  private final long minTimeoutMs;
+  private final double percentile;
+  private final double factor;
+  private final int minSamples;
+  private long appliedTimeoutMs;
+  private String pendingTemplate; // URL template of the navigation in progress
+  private long pendingStarted;
+
+  /**
+   * Constructor.
+   *
+   * @param driver undecorated web driver, used to set timeouts
+   * @param pageLoadTimes load times to learn from and record to
+   * @param staticTimeoutMs static page load timeout, the upper bound of adaptive timeouts
+   * @param minTimeoutMs lower bound of adaptive timeouts
+   * @param percentile percentile of recent load times, e.g. 99
+   * @param factor safety factor applied to the percentile
+   * @param minSamples number of load times needed before a URL template gets an adaptive timeout
+   */
+  public AdaptiveTimeoutListener(
+      WebDriver driver,
+      PageLoadTimes pageLoadTimes,
+      long staticTimeoutMs,
+      long minTimeoutMs,
+      double percentile,
+      double factor,
+      int minSamples) {
+    this.driver = driver;
+    this.pageLoadTimes = pageLoadTimes;
+    this.staticTimeoutMs = staticTimeoutMs;
+    this.minTimeoutMs = Math.min(minTimeoutMs, staticTimeoutMs);
+    this.percentile = percentile;
+    this.factor = factor;
+    this.minSamples = minSamples;
+    this.appliedTimeoutMs = staticTimeoutMs;
+  }
+
+  @Override
+  public void beforeGet(WebDriver driver, String url) {
+    begin(url);
+  }
+
+  @Override
+  public void afterGet(WebDriver driver, String url) {
+    end();
+  }
+
+  @Override
+  public void beforeTo(Navigation navigation, String url) {
+    begin(url);
+  }
+
+  @Override
+  public void afterTo(Navigation navigation, String url) {
+    end();
+  }
+
+  @Override
+  public void beforeTo(Navigation navigation, URL url) {
+    begin(String.valueOf(url));
+  }
+
+  @Override
+  public void afterTo(Navigation navigation, URL url) {
+    end();
+  }
+
+  @Override
+  public synchronized void onError(
+      Object target, Method method, Object[] args, InvocationTargetException e) {
+    if (null == pendingTemplate) {
+      return;
+    }
+    if (e.getCause() instanceof TimeoutException && appliedTimeoutMs < staticTimeoutMs) {
+      LOGGER.warn(
+          String.format(
+              "Page [%s] did not load within the adaptive timeout of [%d] ms, the next navigation"
+                  + " gets the static timeout",
+              pendingTemplate, appliedTimeoutMs));
+      pageLoadTimes.recordTimeout(pendingTemplate, appliedTimeoutMs);
+    }
+    pendingTemplate = null;
+    restoreStaticTimeout();
+  }
+
+  /**
+   * Applies the adaptive timeout of a URL before navigating to it.
+   *
+   * @param url target URL
+   */
+  private synchronized void begin(String url) {
+    pendingTemplate = UrlTemplate.of(url);
+    long timeoutMs =
+        pageLoadTimes.clearTimedOut(pendingTemplate)
+            ? staticTimeoutMs
+            : getTimeoutMs(pendingTemplate);
+    if (timeoutMs != appliedTimeoutMs) {
+      setTimeout(timeoutMs);
+    }
+    pendingStarted = System.nanoTime();
+  }
+
+  /** Records the load time of the completed navigation and restores the static timeout. */
+  private synchronized void end() {
+    if (null == pendingTemplate) {
+      return;
+    }
+    pageLoadTimes.record(
+        pendingTemplate, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pendingStarted));
+    pendingTemplate = null;
+    restoreStaticTimeout();
+  }
+
+  /**
+   * Returns the page load timeout of a URL template.
+   *
+   * @param template URL template
+   * @return timeout in milliseconds
+   */
+  long getTimeoutMs(String template) {
+    long loadMs = pageLoadTimes.getPercentile(template, percentile, minSamples);
+    if (loadMs < 0) {
+      return staticTimeoutMs;
+    }
+    return Math.min(staticTimeoutMs, Math.max(minTimeoutMs, Math.round(loadMs * factor)));
+  }
+
+  /** Restores the static timeout, which applies to navigations not started by the listener. */
+  private synchronized void restoreStaticTimeout() {
+    if (staticTimeoutMs != appliedTimeoutMs) {
+      setTimeout(staticTimeoutMs);
+    }
+  }
+
+  /**
+   * Sets the page load timeout of the session.
+   *
+   * @param timeoutMs timeout in milliseconds
+   */
+  private void setTimeout(long timeoutMs) {
+    try {
+      driver.manage().timeouts().pageLoadTimeout(Duration.ofMillis(timeoutMs));
+      appliedTimeoutMs = timeoutMs;
+    } catch (WebDriverException e) {
+      LOGGER.debug("Page load timeout was not set", e);
+    }
+  }
+}
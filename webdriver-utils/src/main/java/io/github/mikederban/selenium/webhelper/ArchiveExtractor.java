@@ -0,0 +1,45 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Extracts a web driver archive to a directory.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public interface ArchiveExtractor {
+
+  /**
+   * Returns the extractor for an archive file name, e.g. chromedriver_linux64.zip or
+   * geckodriver-v0.30.0-linux64.tar.gz.
+   *
+   * @param archiveFilename archive file name
+   * @return archive extractor
+   * @throws IllegalArgumentException if the archive format is not supported
+   */
+  static ArchiveExtractor of(String archiveFilename) {
+    String name = archiveFilename.toLowerCase(Locale.ENGLISH);
+    if (name.endsWith(".zip")) {
+      return new ZipArchiveExtractor();
+    } else if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+      return new TarArchiveExtractor(TarArchiveExtractor.Compression.GZIP);
+    } else if (name.endsWith(".tar.xz")) {
+      return new TarArchiveExtractor(TarArchiveExtractor.Compression.XZ);
+    }
+    throw new IllegalArgumentException(
+        String.format("Archive [%s] format is unknown to the helper!", archiveFilename));
+  }
+
+  /**
+   * Extracts an archive.
+   *
+   * @param archive archive content, e.g. the download stream
+   * @param destDir destination directory
+   * @throws IOException if the archive cannot be read or extracted
+   */
+  void extract(InputStream archive, File destDir) throws IOException;
+}
@@ -0,0 +1,339 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import javax.imageio.ImageIO;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background pipeline for diagnostic artifacts (screenshots and page sources).
+ *
+ * <p>Test threads only hand over the raw capture result. Base64 decoding, downscaling, compression
+ * and disk writes happen on worker threads, in batches. The queue is bounded: when it is full the
+ * oldest pending artifact is dropped. Whatever is left in the queue is written out when the JVM
+ * shuts down.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class ArtifactPipeline {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactPipeline.class);
+  private static final Map<String, ArtifactPipeline> PIPELINES = new ConcurrentHashMap<>();
+  private static final Pattern PATTERN_UNSAFE_FILENAME = Pattern.compile("[^A-Za-z0-9._-]");
+  private static final long POLL_TIMEOUT_MS = 200;
+  private static final long SHUTDOWN_TIMEOUT_SEC = 30;
+
+  private final File outputDir;
+  private final BlockingQueue<Artifact> queue;
+  private final ExecutorService workers;
+  private final int batchSize;
+  private final double screenshotScale;
+  private final boolean compress;
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private volatile boolean closed;
+
+  /**
+   * Constructor.
+   *
+   * @param outputDir directory to write artifacts to
+   * @param capacity maximum number of pending artifacts
+   * @param workerCount number of worker threads
+   * @param batchSize maximum number of artifacts written per batch
+   * @param screenshotScale screenshot scale factor, 1.0 keeps the original size
+   * @param compress gzip page sources if true
+   */
+  private ArtifactPipeline(
+      File outputDir,
+      int capacity,
+      int workerCount,
+      int batchSize,
+      double screenshotScale,
+      boolean compress) {
+    this.outputDir = outputDir;
+    this.batchSize = Math.max(1, batchSize);
+    this.screenshotScale = screenshotScale;
+    this.compress = compress;
+    queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    workers =
+        Executors.newFixedThreadPool(
+            Math.max(1, workerCount),
+            runnable -> {
+              Thread thread = new Thread(runnable, "webdriver-artifacts");
+              thread.setDaemon(true);
+              return thread;
+            });
+    for (int i = 0; i < Math.max(1, workerCount); i++) {
+      workers.execute(this::work);
+    }
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(this::close, "webdriver-artifacts-shutdown"));
+  }
+
+  /**
+   * Returns the pipeline writing to the given directory, creating it on first use or when the
+   * previous one was closed. Pipelines are shared by all helpers writing to the same directory.
+   *
+   * @param outputDir directory to write artifacts to
+   * @param capacity maximum number of pending artifacts
+   * @param workerCount number of worker threads
+   * @param batchSize maximum number of artifacts written per batch
+   * @param screenshotScale screenshot scale factor, 1.0 keeps the original size
+   * @param compress gzip page sources if true
+   * @return artifact pipeline
+   */
+  public static ArtifactPipeline of(
+      File outputDir,
+      int capacity,
+      int workerCount,
+      int batchSize,
+      double screenshotScale,
+      boolean compress) {
+    return PIPELINES.compute(
+        outputDir.getAbsolutePath(),
+        (path, existing) ->
+            null == existing || existing.closed
+                ? new ArtifactPipeline(
+                    outputDir, capacity, workerCount, batchSize, screenshotScale, compress)
+                : existing);
+  }
+
+  /**
+   * Queues a screenshot.
+   *
+   * @param name artifact name, used as part of the file name
+   * @param base64Png screenshot as returned by the driver, still base64 encoded
+   */
+  public void submitScreenshot(String name, String base64Png) {
+    submit(new Artifact(name, ArtifactType.SCREENSHOT, base64Png));
+  }
+
+  /**
+   * Queues a page source.
+   *
+   * @param name artifact name, used as part of the file name
+   * @param pageSource page source as returned by the driver
+   */
+  public void submitPageSource(String name, String pageSource) {
+    submit(new Artifact(name, ArtifactType.PAGE_SOURCE, pageSource));
+  }
+
+  /**
+   * Returns number of artifacts dropped because the queue was full.
+   *
+   * @return number of dropped artifacts
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /** Stops the workers and writes out all pending artifacts. */
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    PIPELINES.remove(outputDir.getAbsolutePath(), this);
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SEC, TimeUnit.SECONDS)) {
+        LOGGER.warn("Artifact workers did not finish in time");
+      }
+    } catch (InterruptedException e) {
+      LOGGER.error("Interrupted while flushing artifacts!", e);
+      Thread.currentThread().interrupt();
+    }
+    List<Artifact> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    write(remaining);
+    if (0 < dropped.get()) {
+      LOGGER.warn(String.format("[%d] artifacts were dropped, queue was full", dropped.get()));
+    }
+  }
+
+  /**
+   * Adds an artifact to the queue, dropping the oldest pending artifacts if it is full.
+   *
+   * @param artifact artifact to queue
+   */
+  private void submit(Artifact artifact) {
+    if (closed) {
+      LOGGER.warn(String.format("Artifact pipeline is closed, [%s] is ignored", artifact.name));
+      return;
+    }
+    while (!queue.offer(artifact)) {
+      if (null != queue.poll()) {
+        dropped.incrementAndGet();
+      }
+    }
+  }
+
+  /** Worker loop: takes artifacts from the queue and writes them in batches. */
+  private void work() {
+    List<Artifact> batch = new ArrayList<>(batchSize);
+    while (!closed || !queue.isEmpty()) {
+      try {
+        Artifact first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (null != first) {
+          batch.add(first);
+          queue.drainTo(batch, batchSize - 1);
+          write(batch);
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Encodes and writes a batch of artifacts.
+   *
+   * @param batch artifacts to write
+   */
+  private void write(List<Artifact> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+      LOGGER.error(String.format("Cannot create artifacts directory [%s]", outputDir));
+      return;
+    }
+    for (Artifact artifact : batch) {
+      File file = new File(outputDir, getFileName(artifact));
+      try {
+        Files.write(file.toPath(), encode(artifact));
+      } catch (IOException | RuntimeException e) {
+        LOGGER.error(String.format("Error writing artifact [%s]", file), e);
+      }
+    }
+  }
+
+  /**
+   * Returns the final file content of an artifact.
+   *
+   * @param artifact artifact
+   * @return file content
+   * @throws IOException on image or compression errors
+   */
+  private byte[] encode(Artifact artifact) throws IOException {
+    byte[] bytes;
+    if (ArtifactType.SCREENSHOT == artifact.type) {
+      bytes = Base64.getMimeDecoder().decode(artifact.payload);
+      if (screenshotScale < 1.0) {
+        bytes = downscale(bytes);
+      }
+    } else {
+      bytes = artifact.payload.getBytes(StandardCharsets.UTF_8);
+      if (compress) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (OutputStream gzip = new GZIPOutputStream(bos)) {
+          gzip.write(bytes);
+        }
+        bytes = bos.toByteArray();
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Scales a PNG image down by the configured factor.
+   *
+   * @param png PNG image
+   * @return scaled PNG image, or the original one if it cannot be read
+   * @throws IOException on image errors
+   */
+  private byte[] downscale(byte[] png) throws IOException {
+    // Memory cached streams: the file cache is not usable while the JVM shuts down
+    BufferedImage source =
+        ImageIO.read(new MemoryCacheImageInputStream(new ByteArrayInputStream(png)));
+    if (null == source) {
+      return png;
+    }
+    int width = Math.max(1, (int) (source.getWidth() * screenshotScale));
+    int height = Math.max(1, (int) (source.getHeight() * screenshotScale));
+    BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = target.createGraphics();
+    try {
+      graphics.setRenderingHint(
+          RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+    ByteArrayOutputStream bos = new ByteArrayOutputStream(png.length / 2 + 64);
+    try (MemoryCacheImageOutputStream ios = new MemoryCacheImageOutputStream(bos)) {
+      ImageIO.write(target, "png", ios);
+    }
+    return bos.toByteArray();
+  }
+
+  /**
+   * Returns a unique file name for an artifact.
+   *
+   * @param artifact artifact
+   * @return file name
+   */
+  private String getFileName(Artifact artifact) {
+    String extension;
+    if (ArtifactType.SCREENSHOT == artifact.type) {
+      extension = ".png";
+    } else {
+      extension = compress ? ".html.gz" : ".html";
+    }
+    return String.format(
+        "%d-%04d-%s%s",
+        artifact.timestamp,
+        sequence.incrementAndGet() % 10000,
+        PATTERN_UNSAFE_FILENAME.matcher(artifact.name).replaceAll("_"),
+        extension);
+  }
+
+  /** Types of artifacts. */
+  private enum ArtifactType {
+    SCREENSHOT,
+    PAGE_SOURCE
+  }
+
+  /** Captured artifact waiting to be written. */
+  private static final class Artifact {
+
+    private final String name;
+    private final ArtifactType type;
+    private final String payload;
+    private final long timestamp;
+
+    private Artifact(String name, ArtifactType type, String payload) {
+      this.name = name;
+      this.type = type;
+      this.payload = payload;
+      timestamp = System.currentTimeMillis();
+    }
+  }
+}
@@ -0,0 +1,430 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Visits a large number of URLs with several browser sessions in parallel, e.g. for smoke sweeps
+ * checking status, title and console errors of every page.
+ *
+ * <p>Every session has its own queue of pages, refilled in small chunks from the URL iterator, so
+ * the URL list is never held in memory. A session whose queue runs empty steals pages from the
+ * tail of the queues of the other sessions, so slow pages do not leave sessions idle. A failed page
+ * is retried on a different session, and a session which no longer responds is replaced by a new
+ * one. Results are handed to the sink as soon as a page is done; the sink is called by one session
+ * at a time. When the run is interrupted or a session fails unexpectedly, all sessions stop after
+ * their current page and the sink is no longer called.
+ *
+ * <p>Console errors are collected on Chromium based browsers only, by a script installed with
+ * DevTools before the scripts of every page.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class BatchNavigator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchNavigator.class);
+  private static final String ERRORS = "__webdriverHelperErrors";
+  private static final int REFILL_SIZE = 16;
+  private static final long IDLE_PARK_NS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private static final String SCRIPT_COLLECT_ERRORS =
+      "(function () {"
+          + "  var errors = window." + ERRORS + " = [];"
+          + "  window.addEventListener('error', function (e) {"
+          + "    errors.push(String(e.message || e));"
+          + "  });"
+          + "  window.addEventListener('unhandledrejection', function (e) {"
+          + "    errors.push('Unhandled rejection: ' + String(e.reason));"
+          + "  });"
+          + "  var error = console.error;"
+          + "  console.error = function () {"
+          + "    errors.push(Array.prototype.map.call(arguments, String).join(' '));"
+          + "    return error.apply(console, arguments);"
+          + "  };"
+          + "})();";
+
+  private static final String SCRIPT_PAGE_RESULT =
+      "var navigation = performance.getEntriesByType('navigation')[0];"
+          + "return {"
+          + "  title: document.title,"
+          + "  status: navigation && navigation.responseStatus ? navigation.responseStatus : null,"
+          + "  errors: window." + ERRORS + " || []"
+          + "};";
+
+  private final Supplier<? extends WebDriverHelper> helperFactory;
+  private final int sessions;
+  private final int maxAttempts;
+
+  /**
+   * Constructor.
+   *
+   * @param helperFactory creates a new helper for every session, e.g. ChromeDriverHelper::new
+   * @param sessions number of parallel browser sessions
+   * @param maxAttempts maximum number of attempts per page, at least 1
+   */
+  public BatchNavigator(
+      Supplier<? extends WebDriverHelper> helperFactory, int sessions, int maxAttempts) {
+    this.helperFactory = helperFactory;
+    this.sessions = sessions;
+    this.maxAttempts = Math.max(1, maxAttempts);
+  }
+
+  /**
+   * Visits all pages and hands a result per page to the sink.
+   *
+   * @param urls page URLs, consumed lazily
+   * @param sink receives results as pages are done, called by one session at a time
+   * @return number of failed pages
+   * @throws InterruptedException if interrupted while waiting for the sessions
+   * @throws IllegalStateException if no browser session could be started
+   */
+  public long run(Iterator<String> urls, Consumer<PageResult> sink) throws InterruptedException {
+    Batch batch = new Batch(urls, sink);
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            sessions,
+            runnable -> {
+              Thread thread = new Thread(runnable, "webdriver-batch-navigator");
+              thread.setDaemon(true);
+              return thread;
+            });
+    CompletionService<Void> workers = new ExecutorCompletionService<>(executor);
+    long started = System.nanoTime();
+    try {
+      for (int i = 0; i < sessions; i++) {
+        int index = i;
+        workers.submit(() -> batch.work(index), null);
+      }
+      // Fails as soon as any session fails, instead of waiting for the sessions in order
+      for (int i = 0; i < sessions; i++) {
+        workers.take().get();
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Batch navigation failed", e.getCause());
+    } finally {
+      batch.stopped = true;
+      executor.shutdownNow();
+    }
+    if (0 < batch.pending.get() || !batch.exhausted) {
+      throw new IllegalStateException(
+          String.format("No browser session left after [%d] pages", batch.visited.get()));
+    }
+    LOGGER.info(
+        String.format(
+            "Visited [%d] pages with [%d] sessions in [%d] s, [%d] failed",
+            batch.visited.get(),
+            sessions,
+            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started),
+            batch.failed.get()));
+    return batch.failed.get();
+  }
+
+  /** Page waiting to be visited. */
+  private static final class Task {
+
+    private final String url;
+    private int attempts;
+    private int failedOn = -1; // Session of the last failed attempt
+
+    private Task(String url) {
+      this.url = url;
+    }
+  }
+
+  /** State of a single run, shared by its sessions. */
+  private final class Batch {
+
+    private final Iterator<String> urls;
+    private final Consumer<PageResult> sink;
+    private final List<Deque<Task>> queues = new ArrayList<>();
+    private final AtomicIntegerArray alive = new AtomicIntegerArray(sessions);
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger(); // Pages taken but not yet done
+    private final AtomicLong visited = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean exhausted;
+    private volatile boolean stopped; // Set when the run returns, sessions must not go on
+
+    private Batch(Iterator<String> urls, Consumer<PageResult> sink) {
+      this.urls = urls;
+      this.sink = sink;
+      for (int i = 0; i < sessions; i++) {
+        queues.add(new ConcurrentLinkedDeque<>());
+      }
+    }
+
+    /**
+     * Runs a session until all pages are done.
+     *
+     * @param index session index
+     */
+    private void work(int index) {
+      WebDriverHelper helper = startSession(index);
+      if (null == helper) {
+        return;
+      }
+      alive.set(index, 1);
+      liveSessions.incrementAndGet();
+      try {
+        // The driver may swallow an interrupt of a pending command, so the flag is checked too
+        while (!stopped && !Thread.currentThread().isInterrupted()) {
+          Task task = next(index);
+          if (null == task) {
+            if (exhausted && 0 == pending.get()) {
+              return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NS);
+            continue;
+          }
+          if (!visit(index, helper, task)) {
+            helper = replaceSession(index, helper);
+            if (null == helper) {
+              return;
+            }
+          }
+        }
+      } finally {
+        alive.set(index, 0);
+        liveSessions.decrementAndGet();
+        if (null != helper) {
+          quitQuietly(helper);
+        }
+      }
+    }
+
+    /**
+     * Takes the next page of a session: from the head of its own queue, from the tail of another
+     * queue, or a new chunk of URLs.
+     *
+     * @param index session index
+     * @return page, null if there is none at the moment
+     */
+    private Task next(int index) {
+      Task task = queues.get(index).pollFirst();
+      if (null == task) {
+        task = steal(index);
+      }
+      if (null == task && !exhausted) {
+        refill(index);
+        task = queues.get(index).pollFirst();
+      }
+      return task;
+    }
+
+    /**
+     * Steals a page from the tail of another queue. Pages which failed on this session are left
+     * for the other sessions, unless this is the last session alive.
+     *
+     * @param index session index
+     * @return page, null if no other queue has one
+     */
+    private Task steal(int index) {
+      for (int i = 1; i < sessions; i++) {
+        Deque<Task> victim = queues.get((index + i) % sessions);
+        Task task = victim.pollLast();
+        if (null != task) {
+          if (task.failedOn != index || 1 == liveSessions.get()) {
+            return task;
+          }
+          victim.offerLast(task);
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Moves the next chunk of URLs to the queue of a session.
+     *
+     * @param index session index
+     */
+    private void refill(int index) {
+      synchronized (urls) {
+        for (int i = 0; i < REFILL_SIZE && urls.hasNext(); i++) {
+          pending.incrementAndGet();
+          queues.get(index).offerLast(new Task(urls.next()));
+        }
+        exhausted = !urls.hasNext();
+      }
+    }
+
+    /**
+     * Visits a page and hands over the result, or queues the page for another attempt on another
+     * session.
+     *
+     * @param index session index
+     * @param helper helper of the session
+     * @param task page
+     * @return false if the session no longer responds
+     */
+    private boolean visit(int index, WebDriverHelper helper, Task task) {
+      task.attempts++;
+      WebDriver driver = helper.getDriver();
+      long started = System.nanoTime();
+      try {
+        driver.get(task.url);
+        long loadMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        Object page = ((JavascriptExecutor) driver).executeScript(SCRIPT_PAGE_RESULT);
+        Map<?, ?> values = page instanceof Map ? (Map<?, ?>) page : Collections.emptyMap();
+        List<String> errors = new ArrayList<>();
+        if (values.get("errors") instanceof List) {
+          ((List<?>) values.get("errors")).forEach(error -> errors.add(String.valueOf(error)));
+        }
+        Object status = values.get("status");
+        done(
+            new PageResult(
+                task.url,
+                null == values.get("title") ? driver.getTitle() : values.get("title").toString(),
+                status instanceof Number ? ((Number) status).intValue() : null,
+                errors,
+                loadMs,
+                task.attempts,
+                index,
+                null));
+        return true;
+      } catch (WebDriverException e) {
+        long loadMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        String error = String.valueOf(e.getMessage()).split("\n", 2)[0];
+        LOGGER.debug(
+            String.format(
+                "Attempt [%d] of [%s] failed on session [%d]", task.attempts, task.url, index),
+            e);
+        if (task.attempts < maxAttempts) {
+          task.failedOn = index;
+          queues.get(nextLiveSession(index)).offerFirst(task);
+        } else {
+          done(
+              new PageResult(
+                  task.url, null, null, List.of(), loadMs, task.attempts, index, error));
+        }
+        return isResponding(driver);
+      }
+    }
+
+    /**
+     * Hands a final result to the sink.
+     *
+     * @param result page result
+     */
+    private void done(PageResult result) {
+      try {
+        synchronized (sink) {
+          if (!stopped) {
+            sink.accept(result);
+          }
+        }
+      } finally {
+        visited.incrementAndGet();
+        if (result.isFailed()) {
+          failed.incrementAndGet();
+        }
+        pending.decrementAndGet();
+      }
+    }
+
+    /**
+     * Returns the session a failed page is retried on.
+     *
+     * @param index session the page failed on
+     * @return next session alive, or the same session if it is the last one
+     */
+    private int nextLiveSession(int index) {
+      for (int i = 1; i < sessions; i++) {
+        int other = (index + i) % sessions;
+        if (1 == alive.get(other)) {
+          return other;
+        }
+      }
+      return index;
+    }
+
+    /**
+     * Starts the browser session of a worker.
+     *
+     * @param index session index
+     * @return helper with a started session, null if the session cannot be started
+     */
+    private WebDriverHelper startSession(int index) {
+      try {
+        WebDriverHelper helper = helperFactory.get();
+        helper.initialize();
+        if (null != helper.getDriver()) {
+          CdpCommandExecutor cdp = helper.getCdpCommandExecutor();
+          if (null != cdp) {
+            cdp.execute(
+                "Page.addScriptToEvaluateOnNewDocument", Map.of("source", SCRIPT_COLLECT_ERRORS));
+          }
+          return helper;
+        }
+        quitQuietly(helper);
+      } catch (WebDriverException | IllegalStateException e) {
+        LOGGER.error(String.format("Browser session [%d] cannot be started", index), e);
+      }
+      LOGGER.error(String.format("Batch continues without session [%d]", index));
+      return null;
+    }
+
+    /**
+     * Replaces a session which no longer responds.
+     *
+     * @param index session index
+     * @param helper helper of the session
+     * @return helper with a new session, null if it cannot be started
+     */
+    private WebDriverHelper replaceSession(int index, WebDriverHelper helper) {
+      LOGGER.warn(String.format("Browser session [%d] does not respond, replacing it", index));
+      quitQuietly(helper);
+      return startSession(index);
+    }
+  }
+
+  /**
+   * Checks whether a browser session still responds to commands.
+   *
+   * @param driver web driver
+   * @return true if the session responds
+   */
+  private static boolean isResponding(WebDriver driver) {
+    try {
+      driver.getWindowHandle();
+      return true;
+    } catch (WebDriverException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Quits a helper, ignoring errors of a dead session.
+   *
+   * @param helper helper
+   */
+  private static void quitQuietly(WebDriverHelper helper) {
+    try {
+      helper.quit();
+    } catch (WebDriverException e) {
+      LOGGER.debug("Browser session cannot be quit", e);
+    }
+  }
+}
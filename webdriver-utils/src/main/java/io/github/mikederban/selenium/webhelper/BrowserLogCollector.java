@@ -0,0 +1,231 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drains browser logs (e.g. browser console and performance logs) in a background thread and
+ * streams them as newline-delimited JSON to size-rotated files.
+ *
+ * <p>Only one poll worth of log entries is held in memory at a time. Every line has the form
+ * {@code {"ts":..,"type":"..","level":"..","message":..}}; performance log messages are embedded as
+ * JSON objects, so they can be processed with standard NDJSON tooling.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class BrowserLogCollector {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BrowserLogCollector.class);
+  private static final String FILE_EXTENSION = ".ndjson";
+
+  private final WebDriver driver;
+  private final List<String> logTypes;
+  private final File outputDir;
+  private final String filePrefix;
+  private final long intervalMs;
+  private final long maxFileBytes;
+  private final int maxFiles;
+  private final Json json = new Json();
+  private final StringBuilder line = new StringBuilder(256);
+  private final Thread shutdownHook = new Thread(this::stop, "webdriver-log-collector-shutdown");
+  private ScheduledExecutorService executor;
+  private Writer writer;
+  private long fileBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param driver web driver to collect logs from
+   * @param logTypes log types to collect, e.g. browser, performance
+   * @param outputDir directory to write log files to
+   * @param filePrefix log file name prefix
+   * @param intervalMs poll interval
+   * @param maxFileBytes approximate maximum size of a single log file
+   * @param maxFiles number of rotated log files to keep
+   */
+  public BrowserLogCollector(
+      WebDriver driver,
+      List<String> logTypes,
+      File outputDir,
+      String filePrefix,
+      long intervalMs,
+      long maxFileBytes,
+      int maxFiles) {
+    this.driver = driver;
+    this.logTypes = logTypes;
+    this.outputDir = outputDir;
+    this.filePrefix = filePrefix;
+    this.intervalMs = intervalMs;
+    this.maxFileBytes = maxFileBytes;
+    this.maxFiles = Math.max(1, maxFiles);
+  }
+
+  /** Starts collecting logs in the background. */
+  public synchronized void start() {
+    if (null != executor) {
+      return;
+    }
+    if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+      LOGGER.error(String.format("Cannot create log directory [%s]", outputDir));
+      return;
+    }
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "webdriver-log-collector");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.scheduleWithFixedDelay(this::drain, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+  }
+
+  /** Stops collecting logs. The logs still buffered by the browser are drained first. */
+  public void stop() {
+    ScheduledExecutorService running;
+    synchronized (this) {
+      running = executor;
+      executor = null;
+    }
+    if (null == running) {
+      return;
+    }
+    if (Thread.currentThread() != shutdownHook) {
+      try {
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+      } catch (IllegalStateException e) {
+        LOGGER.debug("JVM is shutting down", e);
+      }
+    }
+    running.shutdown();
+    try {
+      if (!running.awaitTermination(intervalMs + 5000, TimeUnit.MILLISECONDS)) {
+        LOGGER.warn("Browser log collector did not stop in time");
+      }
+    } catch (InterruptedException e) {
+      LOGGER.error("Interrupted while stopping browser log collector!", e);
+      Thread.currentThread().interrupt();
+    }
+    drain();
+    closeWriter();
+  }
+
+  /** Fetches new log entries of every type and appends them to the current log file. */
+  private synchronized void drain() {
+    for (String logType : logTypes) {
+      List<LogEntry> entries;
+      try {
+        entries = driver.manage().logs().get(logType).getAll();
+      } catch (WebDriverException e) {
+        LOGGER.debug(String.format("Cannot retrieve [%s] log", logType), e);
+        continue;
+      }
+      try {
+        for (LogEntry entry : entries) {
+          write(logType, entry);
+        }
+        if (null != writer) {
+          writer.flush();
+        }
+      } catch (IOException e) {
+        LOGGER.error(String.format("Error writing [%s] log", logType), e);
+        closeWriter();
+      }
+    }
+  }
+
+  /**
+   * Writes a single log entry as a JSON line.
+   *
+   * @param logType log type
+   * @param entry log entry
+   * @throws IOException on write errors
+   */
+  private void write(String logType, LogEntry entry) throws IOException {
+    String message = entry.getMessage();
+    line.setLength(0);
+    line.append("{\"ts\":")
+        .append(entry.getTimestamp())
+        .append(",\"type\":")
+        .append(json.toJson(logType))
+        .append(",\"level\":\"")
+        .append(entry.getLevel().getName())
+        .append("\",\"message\":");
+    if (LogType.PERFORMANCE.equals(logType) && null != message && message.startsWith("{")) {
+      line.append(message); // performance log entries are JSON already
+    } else {
+      line.append(json.toJson(message));
+    }
+    line.append('}').append('\n');
+
+    if (null == writer || fileBytes + line.length() > maxFileBytes) {
+      rotate();
+    }
+    writer.append(line);
+    fileBytes += line.length();
+  }
+
+  /**
+   * Closes the current log file, shifts older files and opens a new one.
+   *
+   * @throws IOException on file errors
+   */
+  private void rotate() throws IOException {
+    closeWriter();
+    File current = getFile(0);
+    if (current.exists()) {
+      Files.deleteIfExists(getFile(maxFiles - 1).toPath());
+      for (int i = maxFiles - 2; i >= 0; i--) {
+        File file = getFile(i);
+        if (file.exists()) {
+          Files.move(
+              file.toPath(), getFile(i + 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+    }
+    writer = Files.newBufferedWriter(current.toPath(), StandardCharsets.UTF_8);
+    fileBytes = 0;
+  }
+
+  /**
+   * Returns log file by its rotation index, 0 being the current file.
+   *
+   * @param index rotation index
+   * @return log file
+   */
+  private File getFile(int index) {
+    return new File(
+        outputDir,
+        0 == index
+            ? filePrefix + FILE_EXTENSION
+            : String.format("%s.%d%s", filePrefix, index, FILE_EXTENSION));
+  }
+
+  /** Closes the current log file. */
+  private synchronized void closeWriter() {
+    if (null != writer) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        LOGGER.error("Error closing browser log file!", e);
+      }
+      writer = null;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package io.github.mikederban.selenium.webhelper;
+
+import io.github.mikederban.selenium.webhelper.OSCheck.OSType;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openqa.selenium.Capabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Samples the resident memory (RSS) of the browser process tree started for a session.
+ *
+ * <p>Linux only: the browser main process is found among the descendants of this JVM by the
+ * profile directory reported in the session capabilities, and RSS is read from {@code
+ * /proc/<pid>/status} for the main process and all of its descendants.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class BrowserProcessMonitor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BrowserProcessMonitor.class);
+  private static final String CAPABILITY_USER_DATA_DIR = "userDataDir";
+  private static final String ARG_USER_DATA_DIR = "--user-data-dir=";
+  private static final String STATUS_RSS = "VmRSS:";
+  private static final long BYTES_PER_KB = 1024;
+
+  private final long browserPid;
+  private final long intervalMs;
+  private ScheduledExecutorService executor;
+  private volatile long rssBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param browserPid process id of the browser main process
+   * @param intervalMs sampling interval
+   */
+  private BrowserProcessMonitor(long browserPid, long intervalMs) {
+    this.browserPid = browserPid;
+    this.intervalMs = intervalMs;
+  }
+
+  /**
+   * Creates a monitor for the browser of a session.
+   *
+   * @param capabilities capabilities returned by the driver when the session was created
+   * @param intervalMs sampling interval
+   * @return monitor, or empty if the OS is not supported or the browser process was not found
+   */
+  public static Optional<BrowserProcessMonitor> of(Capabilities capabilities, long intervalMs) {
+    if (OSType.LINUX != OSCheck.getOperatingSystemType()) {
+      LOGGER.info("Browser memory monitoring is only supported on Linux");
+      return Optional.empty();
+    }
+    String userDataDir = findUserDataDir(capabilities.asMap());
+    if (null == userDataDir) {
+      LOGGER.info("Browser profile directory is unknown, browser memory is not monitored");
+      return Optional.empty();
+    }
+    String expectedArg = ARG_USER_DATA_DIR + userDataDir;
+    try (Stream<ProcessHandle> descendants = ProcessHandle.current().descendants()) {
+      Optional<BrowserProcessMonitor> monitor =
+          descendants
+              .filter(process -> getArguments(process.pid()).contains(expectedArg))
+              .filter(process -> !isChildOfBrowser(process, expectedArg))
+              .findFirst()
+              .map(process -> new BrowserProcessMonitor(process.pid(), intervalMs));
+      if (monitor.isEmpty()) {
+        LOGGER.info(String.format("Browser process with profile [%s] was not found", userDataDir));
+      }
+      return monitor;
+    }
+  }
+
+  /**
+   * Searches the capabilities for the browser profile directory, e.g. chrome.userDataDir.
+   *
+   * @param map capabilities map
+   * @return profile directory or null
+   */
+  private static String findUserDataDir(Map<?, ?> map) {
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      if (CAPABILITY_USER_DATA_DIR.equals(entry.getKey()) && entry.getValue() instanceof String) {
+        return (String) entry.getValue();
+      }
+      if (entry.getValue() instanceof Map) {
+        String found = findUserDataDir((Map<?, ?>) entry.getValue());
+        if (null != found) {
+          return found;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks if the parent process has the same profile argument, i.e. is the actual browser.
+   *
+   * @param process process to check
+   * @param expectedArg profile argument
+   * @return true if the process is a child of the browser main process
+   */
+  private static boolean isChildOfBrowser(ProcessHandle process, String expectedArg) {
+    return process
+        .parent()
+        .map(parent -> getArguments(parent.pid()).contains(expectedArg))
+        .orElse(false);
+  }
+
+  /**
+   * Returns command line arguments of a process.
+   *
+   * @param pid process id
+   * @return arguments, empty if the process is gone
+   */
+  private static List<String> getArguments(long pid) {
+    try {
+      String cmdline =
+          new String(Files.readAllBytes(getProcPath(pid, "cmdline")), StandardCharsets.UTF_8);
+      return List.of(cmdline.split("\u0000"));
+    } catch (IOException e) {
+      return List.of();
+    }
+  }
+
+  /**
+   * Returns resident memory of a process.
+   *
+   * @param pid process id
+   * @return RSS in bytes, 0 if the process is gone
+   */
+  private static long getRssBytes(long pid) {
+    try (Stream<String> lines = Files.lines(getProcPath(pid, "status"), StandardCharsets.UTF_8)) {
+      return lines
+          .filter(line -> line.startsWith(STATUS_RSS))
+          .findFirst()
+          .map(line -> line.substring(STATUS_RSS.length()).replace("kB", "").trim())
+          .map(kb -> Long.parseLong(kb) * BYTES_PER_KB)
+          .orElse(0L);
+    } catch (IOException | RuntimeException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Returns path of a file in the proc file system.
+   *
+   * @param pid process id
+   * @param name file name
+   * @return path
+   */
+  private static Path getProcPath(long pid, String name) {
+    return Paths.get("/proc", String.valueOf(pid), name);
+  }
+
+  /** Starts sampling in the background. */
+  public synchronized void start() {
+    if (null == executor) {
+      executor =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "webdriver-memory-monitor");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.scheduleWithFixedDelay(this::sample, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /** Stops sampling. */
+  public synchronized void stop() {
+    if (null != executor) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  /**
+   * Returns RSS of the browser process tree as of the last sample.
+   *
+   * @return RSS in bytes
+   */
+  public long getRssBytes() {
+    return rssBytes;
+  }
+
+  /** Sums up RSS of the browser main process and all of its descendants. */
+  private void sample() {
+    long total = getRssBytes(browserPid);
+    try (Stream<ProcessHandle> descendants =
+        ProcessHandle.of(browserPid).map(ProcessHandle::descendants).orElseGet(Stream::empty)) {
+      total += descendants.mapToLong(process -> getRssBytes(process.pid())).sum();
+    }
+    rssBytes = total;
+  }
+}
@@ -0,0 +1,191 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Properties;
+import lombok.Getter;
+import org.openqa.selenium.Capabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a Chromium based browser running between JVM runs, for fast edit-run cycles in local
+ * development.
+ *
+ * <p>The first session launches the browser detached from its driver, with a persistent profile,
+ * and records the DevTools address reported by the driver in a state file. Later sessions attach
+ * to the recorded address through the debuggerAddress browser option instead of launching a new
+ * browser, as long as the browser still answers on it; otherwise a new browser is launched.
+ * Quitting such a session stops only the driver and leaves the browser running. Only one session
+ * should use the reused browser at a time.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class BrowserReuse {
+
+  public static final String DIR_NAME = "webdriver-helpers-reuse";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BrowserReuse.class);
+  private static final String STATE_FILENAME = "browser.properties";
+  private static final String DEBUGGER_ADDRESS = "debuggerAddress";
+  private static final int HEALTH_CHECK_TIMEOUT_MS = 1000;
+
+  @Getter private final File dir;
+  private final String optionsCapability;
+
+  /**
+   * Constructor.
+   *
+   * @param dir directory of the state file, the browser profile and temp files
+   * @param optionsCapability capability holding the browser options, e.g. goog:chromeOptions
+   */
+  public BrowserReuse(File dir, String optionsCapability) {
+    this.dir = dir;
+    this.optionsCapability = optionsCapability;
+  }
+
+  /**
+   * Returns browser reuse configured in web driver options.
+   *
+   * @param driverOptions web driver options
+   * @param workspace workspace of the helper
+   * @param browserName browser name, separates state and profiles of different browsers
+   * @param optionsCapability capability holding the browser options, e.g. goog:chromeOptions
+   * @return browser reuse, null unless browser.reuse.enabled is set
+   */
+  public static BrowserReuse of(
+      WebDriverOptions driverOptions,
+      WorkspaceManager workspace,
+      String browserName,
+      String optionsCapability) {
+    if (!Boolean.parseBoolean(driverOptions.getProperty("browser.reuse.enabled"))) {
+      return null;
+    }
+    // Outside the workspace root, whose sweep would delete directories of earlier JVMs
+    String reuseDir = driverOptions.getProperty("browser.reuse.dir");
+    File baseDir =
+        null == reuseDir || reuseDir.isEmpty()
+            ? new File(workspace.getRootDir().getAbsoluteFile().getParentFile(), DIR_NAME)
+            : new File(reuseDir);
+    return new BrowserReuse(new File(baseDir, browserName), optionsCapability);
+  }
+
+  /**
+   * Returns the DevTools address of the running browser recorded by an earlier session. The state
+   * is discarded when the browser no longer answers on the address.
+   *
+   * @return host and port, null if a new browser must be launched
+   */
+  public String getDebuggerAddress() {
+    File stateFile = new File(dir, STATE_FILENAME);
+    if (!stateFile.isFile()) {
+      return null;
+    }
+    Properties state = new Properties();
+    try (InputStream is = Files.newInputStream(stateFile.toPath())) {
+      state.load(is);
+    } catch (IOException e) {
+      LOGGER.warn(String.format("Browser reuse state [%s] cannot be read", stateFile), e);
+      return null;
+    }
+    String address = state.getProperty(DEBUGGER_ADDRESS);
+    if (null != address && isAlive(address)) {
+      LOGGER.info(String.format("Attaching to running browser at [%s]", address));
+      return address;
+    }
+    LOGGER.info(String.format("Recorded browser at [%s] is gone, launching a new one", address));
+    try {
+      Files.deleteIfExists(stateFile.toPath());
+    } catch (IOException e) {
+      LOGGER.debug(String.format("[%s] cannot be deleted", stateFile), e);
+    }
+    return null;
+  }
+
+  /**
+   * Checks whether a browser answers DevTools requests on an address.
+   *
+   * @param address host and port
+   * @return true if the browser is alive
+   */
+  static boolean isAlive(String address) {
+    HttpURLConnection connection = null;
+    try {
+      URL url = new URL(String.format("http://%s/json/version", address));
+      connection = (HttpURLConnection) url.openConnection();
+      connection.setConnectTimeout(HEALTH_CHECK_TIMEOUT_MS);
+      connection.setReadTimeout(HEALTH_CHECK_TIMEOUT_MS);
+      if (HttpURLConnection.HTTP_OK != connection.getResponseCode()) {
+        return false;
+      }
+      try (InputStream is = connection.getInputStream()) {
+        return new String(is.readAllBytes(), StandardCharsets.UTF_8)
+            .contains("webSocketDebuggerUrl");
+      }
+    } catch (IOException e) {
+      return false;
+    } finally {
+      if (null != connection) {
+        connection.disconnect();
+      }
+    }
+  }
+
+  /**
+   * Returns the persistent profile directory of a newly launched browser.
+   *
+   * @return profile directory
+   */
+  public File getProfileDir() {
+    return new File(dir, "profile");
+  }
+
+  /**
+   * Returns the environment of the driver launching the browser. The browser outlives the session,
+   * so its temp files must not live in the temp directory of the session.
+   *
+   * @return environment variables of the driver service
+   */
+  public Map<String, String> getDriverEnvironment() {
+    File tempDir = new File(dir, "tmp");
+    if (!tempDir.isDirectory() && !tempDir.mkdirs()) {
+      LOGGER.warn(String.format("Directory [%s] cannot be created", tempDir));
+    }
+    String path = tempDir.getAbsolutePath();
+    return Map.of("TMPDIR", path, "TMP", path, "TEMP", path);
+  }
+
+  /**
+   * Records the DevTools address of the browser of a new session, as reported by the driver.
+   *
+   * @param capabilities capabilities of the session
+   */
+  public void record(Capabilities capabilities) {
+    Object options = capabilities.getCapability(optionsCapability);
+    Object address = options instanceof Map ? ((Map<?, ?>) options).get(DEBUGGER_ADDRESS) : null;
+    if (null == address) {
+      LOGGER.warn(
+          String.format("Driver did not report [%s.%s]", optionsCapability, DEBUGGER_ADDRESS));
+      return;
+    }
+    Properties state = new Properties();
+    state.setProperty(DEBUGGER_ADDRESS, address.toString());
+    File stateFile = new File(dir, STATE_FILENAME);
+    try {
+      Files.createDirectories(dir.toPath());
+      try (OutputStream os = Files.newOutputStream(stateFile.toPath())) {
+        state.store(os, "Browser kept running by WebDriver helpers");
+      }
+    } catch (IOException e) {
+      LOGGER.warn(String.format("Browser reuse state [%s] cannot be written", stateFile), e);
+    }
+  }
+}
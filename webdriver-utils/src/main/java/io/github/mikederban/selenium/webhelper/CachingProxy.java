@@ -0,0 +1,641 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process HTTP forward proxy with a response cache shared by all browser sessions of the JVM.
+ *
+ * <p>Plain HTTP requests are forwarded and cacheable responses are kept in a {@link
+ * ProxyResponseCache}, so static resources are fetched from the application server once per run
+ * rather than once per browser. HTTPS requests are tunneled unchanged and are not cached. Cached
+ * responses carry an {@code X-Cache: HIT} header.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class CachingProxy implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachingProxy.class);
+  private static final Map<Integer, CachingProxy> PROXIES = new ConcurrentHashMap<>();
+
+  /** Headers which are not forwarded, either hop-by-hop or set by the HTTP client itself. */
+  private static final Set<String> SKIPPED_HEADERS =
+      Set.of(
+          "connection",
+          "content-length",
+          "date",
+          "expect",
+          "from",
+          "host",
+          "keep-alive",
+          "proxy-authorization",
+          "proxy-connection",
+          "te",
+          "trailer",
+          "transfer-encoding",
+          "upgrade",
+          "via",
+          "warning");
+
+  private static final int MAX_LINE_LENGTH = 64 * 1024;
+  private static final int IDLE_TIMEOUT_MS = 60 * 1000;
+  private static final int BUFFER_SIZE = 16 * 1024;
+  private static final int STATUS_NO_CONTENT = 204;
+  private static final int STATUS_NOT_MODIFIED = 304;
+  private static final String CRLF = "\r\n";
+
+  private final ServerSocket serverSocket;
+  private final ProxyResponseCache cache;
+  private final boolean cookieRequests; // Whether responses to requests with cookies are shared
+  private final HttpClient client;
+  private final ExecutorService executor;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @param port port to listen on, 0 for any free port
+   * @param maxCacheBytes maximum size of all cached responses
+   * @param maxEntryBytes maximum size of a single cached response
+   * @param cookieRequests whether responses to requests carrying cookies are cached like others
+   * @throws IOException if the port cannot be bound
+   */
+  private CachingProxy(int port, long maxCacheBytes, long maxEntryBytes, boolean cookieRequests)
+      throws IOException {
+    serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+    cache = new ProxyResponseCache(maxCacheBytes, maxEntryBytes);
+    this.cookieRequests = cookieRequests;
+    executor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "webdriver-caching-proxy-worker");
+              thread.setDaemon(true);
+              return thread;
+            });
+    client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(30))
+            .executor(executor)
+            .build();
+    Thread acceptor = new Thread(this::accept, "webdriver-caching-proxy");
+    acceptor.setDaemon(true);
+    acceptor.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(this::close, "webdriver-caching-proxy-stop"));
+    LOGGER.info(String.format("Caching proxy is listening on [%s]", getAddress()));
+  }
+
+  /**
+   * Returns the proxy listening on the given port, starting it on first use. Proxies are shared by
+   * all helpers using the same port.
+   *
+   * @param port port to listen on, 0 for any free port
+   * @param maxCacheBytes maximum size of all cached responses
+   * @param maxEntryBytes maximum size of a single cached response
+   * @param cookieRequests whether responses to requests carrying cookies are cached like others,
+   *     otherwise only if they are explicitly shareable
+   * @return caching proxy
+   */
+  public static CachingProxy of(
+      int port, long maxCacheBytes, long maxEntryBytes, boolean cookieRequests) {
+    return PROXIES.computeIfAbsent(
+        port,
+        key -> {
+          try {
+            return new CachingProxy(port, maxCacheBytes, maxEntryBytes, cookieRequests);
+          } catch (IOException e) {
+            throw new IllegalStateException(
+                String.format("Caching proxy cannot listen on port [%d]", port), e);
+          }
+        });
+  }
+
+  /**
+   * Returns the address browsers connect to, e.g. 127.0.0.1:41234.
+   *
+   * @return host and port
+   */
+  public String getAddress() {
+    return String.format(
+        "%s:%d", serverSocket.getInetAddress().getHostAddress(), serverSocket.getLocalPort());
+  }
+
+  /**
+   * Returns number of requests answered from the cache.
+   *
+   * @return number of cache hits
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Returns number of cacheable requests forwarded to the server.
+   *
+   * @return number of cache misses
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * Returns total size of cached responses.
+   *
+   * @return size in bytes
+   */
+  public long getCacheSizeBytes() {
+    return cache.getSizeBytes();
+  }
+
+  @Override
+  public void close() {
+    if (serverSocket.isClosed()) {
+      return;
+    }
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      LOGGER.warn("Error closing caching proxy", e);
+    }
+    executor.shutdownNow();
+    LOGGER.info(
+        String.format(
+            "Caching proxy stopped: [%d] hits, [%d] misses, [%d] KB cached",
+            hits.get(), misses.get(), cache.getSizeBytes() / 1024));
+  }
+
+  /** Accepts browser connections until the proxy is closed. */
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        executor.execute(() -> handle(socket));
+      } catch (IOException e) {
+        if (!serverSocket.isClosed()) {
+          LOGGER.warn("Error accepting caching proxy connection", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Serves requests of a browser connection until it is closed.
+   *
+   * @param socket browser connection
+   */
+  private void handle(Socket socket) {
+    try (socket) {
+      socket.setSoTimeout(IDLE_TIMEOUT_MS);
+      InputStream in = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+      OutputStream out = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+      for (String requestLine = readLine(in);
+          null != requestLine && !requestLine.isEmpty();
+          requestLine = readLine(in)) {
+        String[] parts = requestLine.split(" ");
+        if (3 != parts.length) {
+          writeStatus(out, 400, "Bad Request");
+          return;
+        }
+        Map<String, List<String>> headers = readHeaders(in);
+        if ("CONNECT".equals(parts[0])) {
+          tunnel(parts[1], socket, in, out);
+          return;
+        }
+        boolean keepAlive = isKeepAlive(parts[2], headers);
+        forward(parts[0], parts[1], headers, readBody(in, headers), out);
+        out.flush();
+        if (!keepAlive) {
+          return;
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.debug("Caching proxy connection closed", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Forwards a request, answering it from the cache if possible.
+   *
+   * @param method request method
+   * @param url absolute request URL
+   * @param headers request headers, keyed by lower case name
+   * @param body request body, null if there is none
+   * @param out browser connection output
+   * @throws IOException if the browser connection fails
+   * @throws InterruptedException if the thread is interrupted
+   */
+  private void forward(
+      String method,
+      String url,
+      Map<String, List<String>> headers,
+      byte[] body,
+      OutputStream out)
+      throws IOException, InterruptedException {
+    String key = ProxyResponseCache.getKey(method, url, getFirst(headers, "accept-encoding"));
+    boolean reload =
+        String.valueOf(getFirst(headers, "cache-control")).contains("no-cache")
+            || String.valueOf(getFirst(headers, "pragma")).contains("no-cache");
+    if (null != key && !reload) {
+      ProxyResponseCache.Entry cached = cache.get(key, System.currentTimeMillis());
+      if (null != cached) {
+        hits.incrementAndGet();
+        writeHead(out, 200, cached.getHeaders(), "HIT");
+        writeContentLength(out, cached.getBody().length);
+        out.write(cached.getBody());
+        return;
+      }
+    }
+
+    HttpResponse<InputStream> response;
+    try {
+      response =
+          client.send(
+              createRequest(method, url, headers, body), HttpResponse.BodyHandlers.ofInputStream());
+    } catch (IOException | IllegalArgumentException e) {
+      LOGGER.debug(String.format("Error forwarding [%s %s]", method, url), e);
+      writeStatus(out, 502, "Bad Gateway");
+      return;
+    }
+    Map<String, List<String>> responseHeaders = new LinkedHashMap<>();
+    response
+        .headers()
+        .map()
+        .forEach(
+            (name, values) -> {
+              if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                responseHeaders.put(name, values);
+              }
+            });
+
+    try (InputStream responseBody = response.body()) {
+      int status = response.statusCode();
+      if ("HEAD".equals(method) || STATUS_NO_CONTENT == status || STATUS_NOT_MODIFIED == status) {
+        writeHead(out, status, responseHeaders, null);
+        String contentLength = response.headers().firstValue("content-length").orElse(null);
+        if (null != contentLength) {
+          writeHeader(out, "Content-Length", contentLength);
+        }
+        out.write(CRLF.getBytes(StandardCharsets.ISO_8859_1));
+        return;
+      }
+      long now = System.currentTimeMillis();
+      // Cookies are not credentials in RFC 9111, but responses to them are often personalized
+      boolean credentials =
+          null != getFirst(headers, "authorization")
+              || !cookieRequests && null != getFirst(headers, "cookie");
+      long freshness =
+          null == key
+              ? 0
+              : ProxyResponseCache.getFreshnessMillis(
+                  status, response.headers(), credentials, now);
+      if (null != key) {
+        misses.incrementAndGet();
+      }
+      if (0 < freshness) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        if (copy(responseBody, buffer, cache.getMaxEntryBytes() + 1)) {
+          byte[] content = buffer.toByteArray();
+          cache.put(key, new ProxyResponseCache.Entry(responseHeaders, content, now + freshness));
+          writeHead(out, status, responseHeaders, "MISS");
+          writeContentLength(out, content.length);
+          out.write(content);
+          return;
+        }
+        // Too large to be cached: send what has been read so far and stream the rest
+        writeHead(out, status, responseHeaders, "MISS");
+        writeChunked(responseBody, buffer.toByteArray(), out);
+        return;
+      }
+      writeHead(out, status, responseHeaders, null == key ? null : "MISS");
+      writeChunked(responseBody, new byte[0], out);
+    }
+  }
+
+  /**
+   * Creates the request to the server.
+   *
+   * @param method request method
+   * @param url absolute request URL
+   * @param headers request headers, keyed by lower case name
+   * @param body request body, null if there is none
+   * @return request
+   */
+  private static HttpRequest createRequest(
+      String method, String url, Map<String, List<String>> headers, byte[] body) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(url))
+            .method(
+                method,
+                null == body
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(body));
+    headers.forEach(
+        (name, values) -> {
+          if (!SKIPPED_HEADERS.contains(name)) {
+            values.forEach(value -> builder.header(name, value));
+          }
+        });
+    return builder.build();
+  }
+
+  /**
+   * Tunnels an HTTPS connection to the server.
+   *
+   * @param authority server host and port
+   * @param socket browser connection
+   * @param in browser connection input
+   * @param out browser connection output
+   * @throws IOException if a connection fails
+   */
+  private void tunnel(String authority, Socket socket, InputStream in, OutputStream out)
+      throws IOException {
+    int colon = authority.lastIndexOf(':');
+    try (Socket server = new Socket()) {
+      try {
+        server.connect(
+            new InetSocketAddress(
+                authority.substring(0, colon), Integer.parseInt(authority.substring(colon + 1))),
+            IDLE_TIMEOUT_MS);
+      } catch (IOException | RuntimeException e) {
+        writeStatus(out, 502, "Bad Gateway");
+        return;
+      }
+      out.write(
+          String.format("HTTP/1.1 200 Connection Established%s%s", CRLF, CRLF)
+              .getBytes(StandardCharsets.ISO_8859_1));
+      out.flush();
+      InputStream serverIn = server.getInputStream();
+      OutputStream serverOut = server.getOutputStream();
+      executor.execute(
+          () -> {
+            try {
+              copy(serverIn, out, Long.MAX_VALUE);
+              out.flush();
+              socket.shutdownOutput();
+            } catch (IOException e) {
+              LOGGER.debug("Caching proxy tunnel closed", e);
+            }
+          });
+      copy(in, serverOut, Long.MAX_VALUE);
+      server.shutdownOutput();
+    }
+  }
+
+  /**
+   * Checks if the browser keeps the connection open after the request.
+   *
+   * @param version HTTP version of the request
+   * @param headers request headers, keyed by lower case name
+   * @return true if the connection is kept open
+   */
+  private static boolean isKeepAlive(String version, Map<String, List<String>> headers) {
+    String connection =
+        String.valueOf(
+                null == getFirst(headers, "proxy-connection")
+                    ? getFirst(headers, "connection")
+                    : getFirst(headers, "proxy-connection"))
+            .toLowerCase(Locale.ROOT);
+    return "HTTP/1.0".equals(version)
+        ? connection.contains("keep-alive")
+        : !"close".equals(connection);
+  }
+
+  /**
+   * Returns the first value of a header.
+   *
+   * @param headers headers, keyed by lower case name
+   * @param name lower case header name
+   * @return header value, null if not present
+   */
+  private static String getFirst(Map<String, List<String>> headers, String name) {
+    List<String> values = headers.get(name);
+    return null == values || values.isEmpty() ? null : values.get(0);
+  }
+
+  /**
+   * Reads a line terminated by CRLF.
+   *
+   * @param in input
+   * @return line without the terminator, null at the end of the stream
+   * @throws IOException if the line is too long or the stream fails
+   */
+  private static String readLine(InputStream in) throws IOException {
+    StringBuilder line = new StringBuilder();
+    for (int c = in.read(); '\n' != c; c = in.read()) {
+      if (-1 == c) {
+        return 0 == line.length() ? null : line.toString();
+      }
+      if ('\r' != c) {
+        line.append((char) c);
+      }
+      if (MAX_LINE_LENGTH < line.length()) {
+        throw new IOException("HTTP line is too long");
+      }
+    }
+    return line.toString();
+  }
+
+  /**
+   * Reads request headers.
+   *
+   * @param in browser connection input
+   * @return headers, keyed by lower case name
+   * @throws IOException if the stream fails
+   */
+  private static Map<String, List<String>> readHeaders(InputStream in) throws IOException {
+    Map<String, List<String>> headers = new LinkedHashMap<>();
+    for (String line = readLine(in); null != line && !line.isEmpty(); line = readLine(in)) {
+      int colon = line.indexOf(':');
+      if (0 < colon) {
+        String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+        String value = line.substring(colon + 1).trim();
+        headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+      }
+    }
+    return headers;
+  }
+
+  /**
+   * Reads the request body.
+   *
+   * @param in browser connection input
+   * @param headers request headers, keyed by lower case name
+   * @return body, null if the request has none
+   * @throws IOException if the stream fails
+   */
+  private static byte[] readBody(InputStream in, Map<String, List<String>> headers)
+      throws IOException {
+    if (String.valueOf(getFirst(headers, "transfer-encoding")).contains("chunked")) {
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      for (int size = Integer.parseInt(readLine(in).split(";")[0].trim(), 16);
+          0 < size;
+          size = Integer.parseInt(readLine(in).split(";")[0].trim(), 16)) {
+        body.write(in.readNBytes(size));
+        readLine(in);
+      }
+      while (!String.valueOf(readLine(in)).isEmpty()) {
+        // Skip trailers
+      }
+      return body.toByteArray();
+    }
+    String contentLength = getFirst(headers, "content-length");
+    return null == contentLength ? null : in.readNBytes(Integer.parseInt(contentLength));
+  }
+
+  /**
+   * Copies a stream.
+   *
+   * @param in input
+   * @param out output
+   * @param limit maximum number of bytes to copy
+   * @return true if the whole input was copied, false if the limit was reached
+   * @throws IOException if a stream fails
+   */
+  private static boolean copy(InputStream in, OutputStream out, long limit) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    long copied = 0;
+    for (int read = in.read(buffer); -1 != read; read = in.read(buffer)) {
+      out.write(buffer, 0, read);
+      copied += read;
+      if (limit <= copied) {
+        return false;
+      }
+      if (0 == in.available()) {
+        out.flush();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes a response body with chunked transfer encoding.
+   *
+   * @param in rest of the body
+   * @param prefix part of the body already read
+   * @param out browser connection output
+   * @throws IOException if a stream fails
+   */
+  private static void writeChunked(InputStream in, byte[] prefix, OutputStream out)
+      throws IOException {
+    writeHeader(out, "Transfer-Encoding", "chunked");
+    out.write(CRLF.getBytes(StandardCharsets.ISO_8859_1));
+    writeChunk(out, prefix, prefix.length);
+    byte[] buffer = new byte[BUFFER_SIZE];
+    for (int read = in.read(buffer); -1 != read; read = in.read(buffer)) {
+      writeChunk(out, buffer, read);
+    }
+    out.write(String.format("0%s%s", CRLF, CRLF).getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  /**
+   * Writes a chunk of a chunked body.
+   *
+   * @param out browser connection output
+   * @param data chunk data
+   * @param length chunk length
+   * @throws IOException if the stream fails
+   */
+  private static void writeChunk(OutputStream out, byte[] data, int length) throws IOException {
+    if (0 < length) {
+      out.write(String.format("%x%s", length, CRLF).getBytes(StandardCharsets.ISO_8859_1));
+      out.write(data, 0, length);
+      out.write(CRLF.getBytes(StandardCharsets.ISO_8859_1));
+    }
+  }
+
+  /**
+   * Writes status line and headers of a response, without the terminating empty line.
+   *
+   * @param out browser connection output
+   * @param status response status
+   * @param headers response headers
+   * @param cacheStatus value of the X-Cache header, null to omit it
+   * @throws IOException if the stream fails
+   */
+  private static void writeHead(
+      OutputStream out, int status, Map<String, List<String>> headers, String cacheStatus)
+      throws IOException {
+    out.write(String.format("HTTP/1.1 %d %s", status, CRLF).getBytes(StandardCharsets.ISO_8859_1));
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      for (String value : header.getValue()) {
+        writeHeader(out, header.getKey(), value);
+      }
+    }
+    if (null != cacheStatus) {
+      writeHeader(out, "X-Cache", cacheStatus);
+    }
+  }
+
+  /**
+   * Writes the Content-Length header and the empty line ending the headers.
+   *
+   * @param out browser connection output
+   * @param length body length
+   * @throws IOException if the stream fails
+   */
+  private static void writeContentLength(OutputStream out, int length) throws IOException {
+    writeHeader(out, "Content-Length", String.valueOf(length));
+    out.write(CRLF.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  /**
+   * Writes a header line.
+   *
+   * @param out browser connection output
+   * @param name header name
+   * @param value header value
+   * @throws IOException if the stream fails
+   */
+  private static void writeHeader(OutputStream out, String name, String value)
+      throws IOException {
+    out.write(String.format("%s: %s%s", name, value, CRLF).getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  /**
+   * Writes an empty response generated by the proxy.
+   *
+   * @param out browser connection output
+   * @param status response status
+   * @param reason reason phrase
+   * @throws IOException if the stream fails
+   */
+  private static void writeStatus(OutputStream out, int status, String reason)
+      throws IOException {
+    out.write(
+        String.format("HTTP/1.1 %d %s%sContent-Length: 0%s%s", status, reason, CRLF, CRLF, CRLF)
+            .getBytes(StandardCharsets.ISO_8859_1));
+    out.flush();
+  }
+}
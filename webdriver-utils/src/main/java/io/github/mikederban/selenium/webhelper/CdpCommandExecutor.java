@@ -0,0 +1,22 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.util.Map;
+
+/**
+ * Executes Chrome DevTools Protocol commands on Chromium based browsers.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface CdpCommandExecutor {
+
+  /**
+   * Executes a DevTools command.
+   *
+   * @param commandName command name, e.g. Performance.getMetrics
+   * @param parameters command parameters
+   * @return command result
+   */
+  Map<String, Object> execute(String commandName, Map<String, Object> parameters);
+}
@@ -0,0 +1,162 @@
+package io.github.mikederban.selenium.webhelper;
+
+import io.github.mikederban.selenium.webhelper.CommandLatencyTracer.CommandStats;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * WebDriver command statistics of a test run.
+ *
+ * <p>Statistics of every test are appended to {@code command-latency-tests.ndjson} when the test
+ * ends. Statistics of the whole run are written to {@code command-latency-run.csv} when the JVM
+ * shuts down. All latencies are in microseconds.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class CommandLatencyReport {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CommandLatencyReport.class);
+  private static final Map<String, CommandLatencyReport> REPORTS = new ConcurrentHashMap<>();
+  private static final String FILENAME_TESTS = "command-latency-tests.ndjson";
+  private static final String FILENAME_RUN = "command-latency-run.csv";
+
+  private final File outputDir;
+  private final Map<String, CommandStats> runStats = new ConcurrentHashMap<>();
+  private final Json json = new Json();
+
+  /**
+   * Constructor.
+   *
+   * @param outputDir report directory
+   */
+  private CommandLatencyReport(File outputDir) {
+    this.outputDir = outputDir;
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(this::writeRunReport, "webdriver-command-latency-report"));
+  }
+
+  /**
+   * Returns the report written to the given directory, creating it on first use. Reports are
+   * shared by all helpers writing to the same directory.
+   *
+   * @param outputDir report directory
+   * @return command latency report
+   */
+  public static CommandLatencyReport of(File outputDir) {
+    return REPORTS.computeIfAbsent(
+        outputDir.getAbsolutePath(), path -> new CommandLatencyReport(outputDir));
+  }
+
+  /**
+   * Returns statistics of the whole run, keyed by command name.
+   *
+   * @return command statistics
+   */
+  public Map<String, CommandStats> getRunStats() {
+    return runStats;
+  }
+
+  /**
+   * Appends test statistics to the tests file and adds them to the run statistics.
+   *
+   * @param testName test name
+   * @param testStats test statistics, keyed by command name
+   */
+  synchronized void addTest(String testName, Map<String, CommandStats> testStats) {
+    Map<String, Object> commands = new TreeMap<>();
+    testStats.forEach(
+        (command, stats) -> {
+          if (0 < stats.getLatencyMicros().getCount()) {
+            commands.put(command, toMap(stats));
+            runStats.computeIfAbsent(command, name -> new CommandStats()).add(stats);
+          }
+        });
+    if (commands.isEmpty()) {
+      return;
+    }
+    Map<String, Object> line = new LinkedHashMap<>();
+    line.put("ts", System.currentTimeMillis());
+    line.put("test", testName);
+    line.put("commands", commands);
+    if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+      LOGGER.error(String.format("Cannot create report directory [%s]", outputDir));
+      return;
+    }
+    try (Writer writer =
+        Files.newBufferedWriter(
+            new File(outputDir, FILENAME_TESTS).toPath(),
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND)) {
+      StringBuilder ndjson = new StringBuilder(256);
+      json.newOutput(ndjson).setPrettyPrint(false).write(line);
+      writer.append(ndjson).append('\n');
+    } catch (IOException e) {
+      LOGGER.error(String.format("Error writing command latency of test [%s]", testName), e);
+    }
+  }
+
+  /** Writes statistics of the whole run. */
+  public synchronized void writeRunReport() {
+    if (runStats.isEmpty()) {
+      return;
+    }
+    if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+      LOGGER.error(String.format("Cannot create report directory [%s]", outputDir));
+      return;
+    }
+    File runFile = new File(outputDir, FILENAME_RUN);
+    try (Writer writer = Files.newBufferedWriter(runFile.toPath(), StandardCharsets.UTF_8)) {
+      writer.write("command,count,errors,total_ms,mean_us,p50_us,p95_us,p99_us,max_us\n");
+      for (Map.Entry<String, CommandStats> entry : new TreeMap<>(runStats).entrySet()) {
+        LatencyHistogram latency = entry.getValue().getLatencyMicros();
+        writer.write(
+            String.format(
+                Locale.ROOT,
+                "%s,%d,%d,%.1f,%.1f,%d,%d,%d,%d\n",
+                entry.getKey(),
+                latency.getCount(),
+                entry.getValue().getErrors(),
+                latency.getMean() * latency.getCount() / 1000.0,
+                latency.getMean(),
+                latency.getPercentile(50),
+                latency.getPercentile(95),
+                latency.getPercentile(99),
+                latency.getMax()));
+      }
+    } catch (IOException e) {
+      LOGGER.error("Error writing command latency report!", e);
+    }
+  }
+
+  /**
+   * Converts command statistics to a JSON friendly map.
+   *
+   * @param stats command statistics
+   * @return map of statistics
+   */
+  private static Map<String, Object> toMap(CommandStats stats) {
+    LatencyHistogram latency = stats.getLatencyMicros();
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("count", latency.getCount());
+    map.put("errors", stats.getErrors());
+    map.put("p50_us", latency.getPercentile(50));
+    map.put("p95_us", latency.getPercentile(95));
+    map.put("p99_us", latency.getPercentile(99));
+    map.put("max_us", latency.getMax());
+    return map;
+  }
+}
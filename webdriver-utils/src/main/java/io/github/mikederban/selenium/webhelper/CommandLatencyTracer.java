@@ -0,0 +1,189 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Records count and latency of every WebDriver command issued through a decorated driver, e.g.
+ * {@code WebDriver.findElement}, {@code WebElement.click}, {@code Navigation.to}.
+ *
+ * <p>Latencies are kept in microseconds. Statistics are collected per test: {@link
+ * #endTest(String)} exports them to the {@link CommandLatencyReport} of the run and starts over.
+ * Recording a command does not allocate once the command has been seen.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class CommandLatencyTracer implements WebDriverListener {
+
+  /** Methods which only return another decorated object and never reach the driver. */
+  private static final Set<String> LOCAL_METHODS =
+      Set.of(
+          "equals",
+          "getWrappedDriver",
+          "hashCode",
+          "logs",
+          "manage",
+          "navigate",
+          "switchTo",
+          "timeouts",
+          "toString",
+          "window");
+
+  private static final CommandStats IGNORED = new CommandStats();
+
+  private final CommandLatencyReport report;
+  private final Map<Method, CommandStats> statsByMethod = new ConcurrentHashMap<>();
+  private final Map<String, CommandStats> statsByCommand = new ConcurrentHashMap<>();
+  private final ThreadLocal<CallStack> callStack = ThreadLocal.withInitial(CallStack::new);
+
+  /**
+   * Constructor.
+   *
+   * @param report run report to export test statistics to
+   */
+  public CommandLatencyTracer(CommandLatencyReport report) {
+    this.report = report;
+  }
+
+  /**
+   * Returns command name of a method, e.g. WebDriver.findElement.
+   *
+   * @param method invoked method
+   * @return command name
+   */
+  private static String getCommandName(Method method) {
+    return String.format("%s.%s", method.getDeclaringClass().getSimpleName(), method.getName());
+  }
+
+  @Override
+  public void beforeAnyCall(Object target, Method method, Object[] args) {
+    callStack.get().push(System.nanoTime());
+  }
+
+  @Override
+  public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+    record(method, false);
+  }
+
+  @Override
+  public void onError(
+      Object target, Method method, Object[] args, InvocationTargetException exception) {
+    record(method, true);
+  }
+
+  /**
+   * Returns statistics of the current test, keyed by command name.
+   *
+   * @return command statistics
+   */
+  public Map<String, CommandStats> getTestStats() {
+    return statsByCommand;
+  }
+
+  /**
+   * Exports statistics of the current test to the run report and clears them.
+   *
+   * @param testName test name
+   */
+  public synchronized void endTest(String testName) {
+    report.addTest(testName, statsByCommand);
+    statsByCommand.values().forEach(CommandStats::reset);
+  }
+
+  /**
+   * Records the latency of a finished command.
+   *
+   * @param method invoked method
+   * @param failed true if the command threw an exception
+   */
+  private void record(Method method, boolean failed) {
+    long latencyNanos = System.nanoTime() - callStack.get().pop();
+    CommandStats stats = statsByMethod.computeIfAbsent(method, this::getStats);
+    if (IGNORED != stats) {
+      stats.latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+      if (failed) {
+        stats.errors.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Returns statistics of a method. Overloaded methods share the statistics of their command.
+   *
+   * @param method invoked method
+   * @return command statistics
+   */
+  private CommandStats getStats(Method method) {
+    return LOCAL_METHODS.contains(method.getName())
+        ? IGNORED
+        : statsByCommand.computeIfAbsent(getCommandName(method), name -> new CommandStats());
+  }
+
+  /** Count, errors and latency histogram of a single command. */
+  public static final class CommandStats {
+
+    private final LatencyHistogram latencyMicros = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Returns latency histogram, in microseconds.
+     *
+     * @return latency histogram
+     */
+    public LatencyHistogram getLatencyMicros() {
+      return latencyMicros;
+    }
+
+    /**
+     * Returns number of failed commands.
+     *
+     * @return number of failed commands
+     */
+    public long getErrors() {
+      return errors.get();
+    }
+
+    /**
+     * Adds statistics of another command to these ones.
+     *
+     * @param other statistics to add
+     */
+    void add(CommandStats other) {
+      latencyMicros.add(other.latencyMicros);
+      errors.addAndGet(other.errors.get());
+    }
+
+    /** Clears the statistics. */
+    void reset() {
+      latencyMicros.reset();
+      errors.set(0);
+    }
+  }
+
+  /** Start times of the commands in progress on a thread. */
+  private static final class CallStack {
+
+    private long[] starts = new long[8];
+    private int depth;
+
+    private void push(long start) {
+      if (depth == starts.length) {
+        long[] grown = new long[starts.length * 2];
+        System.arraycopy(starts, 0, grown, 0, depth);
+        starts = grown;
+      }
+      starts[depth++] = start;
+    }
+
+    private long pop() {
+      return 0 == depth ? System.nanoTime() : starts[--depth];
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Snapshot of the current document, queried locally without further driver commands.
+ *
+ * <p>The document is transferred with a single script call and parsed in the JVM. Current values
+ * of form fields (text, checked and selected state) are copied to the snapshot as attributes, so
+ * they can be asserted like any other attribute. Element text is the text content with normalized
+ * whitespace, which may differ from the rendered text returned by {@code WebElement.getText()} for
+ * hidden elements. Shadow roots and frame documents are not part of the snapshot.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class DomSnapshot {
+
+  private static final String SCRIPT_SNAPSHOT =
+      "var root = document.documentElement.cloneNode(true);"
+          + "var fields = document.querySelectorAll('input, textarea, select');"
+          + "var copies = root.querySelectorAll('input, textarea, select');"
+          + "for (var i = 0; i < fields.length; i++) {"
+          + "  var field = fields[i], copy = copies[i];"
+          + "  if ('TEXTAREA' === field.tagName) {"
+          + "    copy.textContent = field.value;"
+          + "  } else if ('SELECT' === field.tagName) {"
+          + "    for (var j = 0; j < field.options.length; j++) {"
+          + "      field.options[j].selected ? copy.options[j].setAttribute('selected', '')"
+          + "          : copy.options[j].removeAttribute('selected');"
+          + "    }"
+          + "  } else if ('checkbox' === field.type || 'radio' === field.type) {"
+          + "    field.checked ? copy.setAttribute('checked', '')"
+          + "        : copy.removeAttribute('checked');"
+          + "  } else {"
+          + "    copy.setAttribute('value', field.value);"
+          + "  }"
+          + "}"
+          + "return [location.href, root.outerHTML];";
+
+  private static final String USING_ID = "id";
+  private static final String USING_NAME = "name";
+  private static final String USING_CLASS = "class";
+  private static final String USING_CLASS_NAME = "class name";
+  private static final String USING_TAG_NAME = "tag name";
+  private static final String USING_CSS = "css selector";
+  private static final String USING_XPATH = "xpath";
+  private static final String USING_LINK_TEXT = "link text";
+  private static final String USING_PARTIAL_LINK_TEXT = "partial link text";
+
+  private final Document document;
+
+  /**
+   * Constructor.
+   *
+   * @param document parsed document
+   */
+  private DomSnapshot(Document document) {
+    this.document = document;
+  }
+
+  /**
+   * Takes a snapshot of the current document.
+   *
+   * @param driver web driver
+   * @return snapshot
+   */
+  public static DomSnapshot capture(WebDriver driver) {
+    Object result = ((JavascriptExecutor) driver).executeScript(SCRIPT_SNAPSHOT);
+    if (!(result instanceof List) || 2 != ((List<?>) result).size()) {
+      throw new WebDriverException(String.format("Unexpected DOM snapshot result [%s]", result));
+    }
+    List<?> urlAndHtml = (List<?>) result;
+    return parse(String.valueOf(urlAndHtml.get(1)), String.valueOf(urlAndHtml.get(0)));
+  }
+
+  /**
+   * Creates a snapshot from HTML.
+   *
+   * @param html HTML of the document
+   * @param url URL of the document, used to resolve relative links
+   * @return snapshot
+   */
+  public static DomSnapshot parse(String html, String url) {
+    return new DomSnapshot(Jsoup.parse(html, url));
+  }
+
+  /**
+   * Returns URL of the document.
+   *
+   * @return URL
+   */
+  public String getUrl() {
+    return document.location();
+  }
+
+  /**
+   * Returns the parsed document, for queries not covered by this class.
+   *
+   * @return document
+   */
+  public Document getDocument() {
+    return document;
+  }
+
+  /**
+   * Returns elements matching a CSS selector.
+   *
+   * @param cssSelector CSS selector
+   * @return matching elements, empty if none
+   */
+  public Elements select(String cssSelector) {
+    return document.select(cssSelector);
+  }
+
+  /**
+   * Returns elements matching an XPath expression.
+   *
+   * @param xpath XPath expression
+   * @return matching elements, empty if none
+   */
+  public Elements selectXpath(String xpath) {
+    return document.selectXpath(xpath);
+  }
+
+  /**
+   * Returns elements found by a Selenium locator.
+   *
+   * @param locator locator, e.g. By.id, By.name, By.cssSelector, By.xpath, By.linkText
+   * @return matching elements, empty if none
+   * @throws IllegalArgumentException if the locator cannot be evaluated locally
+   */
+  public Elements find(By locator) {
+    if (!(locator instanceof By.Remotable)) {
+      throw new IllegalArgumentException(
+          String.format("Locator [%s] cannot be evaluated on a DOM snapshot", locator));
+    }
+    By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+    String value = String.valueOf(parameters.value());
+    switch (parameters.using()) {
+      case USING_ID:
+      case USING_NAME:
+        return document.getElementsByAttributeValue(parameters.using(), value);
+      case USING_CLASS:
+      case USING_CLASS_NAME:
+        return document.getElementsByClass(value);
+      case USING_TAG_NAME:
+        return document.getElementsByTag(value);
+      case USING_CSS:
+        return select(value);
+      case USING_XPATH:
+        return selectXpath(value);
+      case USING_LINK_TEXT:
+        return select("a").stream()
+            .filter(link -> link.text().equals(value.trim()))
+            .collect(Collectors.toCollection(Elements::new));
+      case USING_PARTIAL_LINK_TEXT:
+        return select("a").stream()
+            .filter(link -> link.text().contains(value))
+            .collect(Collectors.toCollection(Elements::new));
+      default:
+        throw new IllegalArgumentException(
+            String.format("Locator [%s] cannot be evaluated on a DOM snapshot", locator));
+    }
+  }
+
+  /**
+   * Returns the first element found by a locator.
+   *
+   * @param locator locator
+   * @return first matching element, null if none
+   */
+  public Element findFirst(By locator) {
+    return find(locator).first();
+  }
+
+  /**
+   * Returns text of the first element found by a locator.
+   *
+   * @param locator locator
+   * @return text, null if no element is found
+   */
+  public String getText(By locator) {
+    Element element = findFirst(locator);
+    return null == element ? null : element.text();
+  }
+
+  /**
+   * Returns an attribute of the first element found by a locator.
+   *
+   * @param locator locator
+   * @param name attribute name
+   * @return attribute value, null if no element is found or the attribute is not set
+   */
+  public String getAttribute(By locator, String name) {
+    Element element = findFirst(locator);
+    return null == element || !element.hasAttr(name) ? null : element.attr(name);
+  }
+
+  /**
+   * Returns number of elements found by a locator.
+   *
+   * @param locator locator
+   * @return number of matching elements
+   */
+  public int count(By locator) {
+    return find(locator).size();
+  }
+}
@@ -0,0 +1,235 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Navigation;
+import org.openqa.selenium.WebDriver.TargetLocator;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Locator to element cache scoped to the current page.
+ *
+ * <p>The cache is cleared on navigation and when switching frames or windows. After commands
+ * which may change the page (clicks, typing, scripts) and once the last check is older than the
+ * configured maximum age, the next lookup checks the page state with a single script: the URL and
+ * the number of DOM changes reported by an injected MutationObserver. Cache hits on an unchanged
+ * page issue no driver commands at all.
+ *
+ * <p>Returned elements are re-located and the call is retried once if the element went stale.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class ElementCache implements WebDriverListener {
+
+  /** Commands which may change the page without navigating. */
+  private static final Set<String> MUTATING_METHODS =
+      Set.of(
+          "accept",
+          "clear",
+          "click",
+          "dismiss",
+          "executeAsyncScript",
+          "executeScript",
+          "perform",
+          "resetInputState",
+          "sendKeys",
+          "submit");
+
+  private static final String SCRIPT_PAGE_STATE =
+      "var state = window.__webdriverHelperDomState;"
+          + "if (!state) {"
+          + "  state = window.__webdriverHelperDomState ="
+          + "      {page: Date.now() + ':' + Math.random(), epoch: 0};"
+          + "  new MutationObserver(function () { state.epoch++; }).observe(document,"
+          + "      {attributes: true, characterData: true, childList: true, subtree: true});"
+          + "}"
+          + "return location.href + '|' + state.page + '|' + state.epoch;";
+
+  private final long maxAgeNanos;
+  private final Map<By, WebElement> elements = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private WebDriver driver;
+  private JavascriptExecutor scriptExecutor;
+  private String pageState;
+  private volatile boolean dirty = true;
+  private long checkedAtNanos;
+
+  /**
+   * Constructor.
+   *
+   * @param maxAgeMs maximum time the page state is trusted without a check, even if no command
+   *     changed the page
+   */
+  public ElementCache(long maxAgeMs) {
+    maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+  }
+
+  /**
+   * Attaches the cache to a browser session and clears it.
+   *
+   * @param driver driver used to locate elements
+   * @param rawDriver undecorated driver used to check the page state
+   */
+  synchronized void attach(WebDriver driver, WebDriver rawDriver) {
+    this.driver = driver;
+    scriptExecutor = (JavascriptExecutor) rawDriver;
+    invalidate();
+  }
+
+  /**
+   * Returns the element found by the locator, from the cache if the page did not change.
+   *
+   * @param locator locator
+   * @return element
+   * @throws org.openqa.selenium.NoSuchElementException if no element is found
+   */
+  public synchronized WebElement findElement(By locator) {
+    checkPageState();
+    WebElement element = elements.get(locator);
+    if (null == element) {
+      misses.incrementAndGet();
+      element = createElement(locator, driver.findElement(locator));
+      elements.put(locator, element);
+    } else {
+      hits.incrementAndGet();
+    }
+    return element;
+  }
+
+  /** Clears the cache. */
+  public synchronized void invalidate() {
+    elements.clear();
+    pageState = null;
+    dirty = true;
+  }
+
+  /**
+   * Returns number of lookups answered from the cache.
+   *
+   * @return number of cache hits
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Returns number of lookups sent to the driver.
+   *
+   * @return number of cache misses
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  @Override
+  public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+    String name = method.getName();
+    if (target instanceof Navigation
+        || target instanceof TargetLocator
+        || target instanceof WebDriver && ("get".equals(name) || "close".equals(name))) {
+      invalidate();
+    } else if (MUTATING_METHODS.contains(name)) {
+      dirty = true;
+    }
+  }
+
+  /** Clears the cache if the page changed since the last check. */
+  private void checkPageState() {
+    long now = System.nanoTime();
+    if (!dirty && now - checkedAtNanos < maxAgeNanos) {
+      return;
+    }
+    String state = String.valueOf(scriptExecutor.executeScript(SCRIPT_PAGE_STATE));
+    if (!state.equals(pageState)) {
+      elements.clear();
+      pageState = state;
+    }
+    dirty = false;
+    checkedAtNanos = now;
+  }
+
+  /**
+   * Locates the element again after it went stale.
+   *
+   * @param locator locator
+   * @return element found by the driver
+   */
+  private synchronized WebElement relocate(By locator) {
+    misses.incrementAndGet();
+    return driver.findElement(locator);
+  }
+
+  /**
+   * Wraps an element, so that calls on the element are retried once if it goes stale.
+   *
+   * @param locator locator of the element
+   * @param element element found by the driver
+   * @return wrapped element
+   */
+  private WebElement createElement(By locator, WebElement element) {
+    Set<Class<?>> interfaces = SessionRecycler.getAllInterfaces(element.getClass());
+    interfaces.add(WrapsElement.class);
+    return (WebElement)
+        Proxy.newProxyInstance(
+            ElementCache.class.getClassLoader(),
+            interfaces.toArray(new Class<?>[0]),
+            new CachedElement(locator, element));
+  }
+
+  /** Element found by a locator, re-located when it goes stale. */
+  private final class CachedElement implements InvocationHandler {
+
+    private final By locator;
+    private volatile WebElement element;
+
+    private CachedElement(By locator, WebElement element) {
+      this.locator = locator;
+      this.element = element;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (WrapsElement.class == method.getDeclaringClass()) {
+        return element;
+      }
+      if (Object.class == method.getDeclaringClass()) {
+        switch (method.getName()) {
+          case "equals":
+            return proxy == args[0] || element.equals(args[0]);
+          case "hashCode":
+            return element.hashCode();
+          default:
+            return String.format("CachedElement(%s -> %s)", locator, element);
+        }
+      }
+      try {
+        return method.invoke(element, args);
+      } catch (InvocationTargetException e) {
+        if (!(e.getCause() instanceof StaleElementReferenceException)) {
+          throw e.getCause();
+        }
+      }
+      element = relocate(locator);
+      try {
+        return method.invoke(element, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
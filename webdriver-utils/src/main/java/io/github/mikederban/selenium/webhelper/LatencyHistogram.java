@@ -0,0 +1,150 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size, thread-safe histogram of non-negative long values, e.g. latencies in milliseconds.
+ *
+ * <p>Values are counted in log-linear buckets: values below 32 are exact, larger values are kept
+ * with 16 buckets per power of two, i.e. within about 6% of the recorded value. Recording a value
+ * does not allocate.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class LatencyHistogram {
+
+  private static final int LINEAR_BUCKETS = 32;
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_BITS = 5;
+  private static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - LINEAR_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Returns bucket index of a value.
+   *
+   * @param value non-negative value
+   * @return bucket index
+   */
+  private static int getBucketIndex(long value) {
+    if (value < LINEAR_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+    return LINEAR_BUCKETS + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Returns the highest value counted in a bucket.
+   *
+   * @param index bucket index
+   * @return highest value of the bucket
+   */
+  private static long getBucketUpperBound(int index) {
+    if (index < LINEAR_BUCKETS) {
+      return index;
+    }
+    int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + LINEAR_BITS;
+    int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+    int shift = exponent - SUB_BUCKET_BITS;
+    return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * Records a value. Negative values are recorded as 0.
+   *
+   * @param value value to record
+   */
+  public void record(long value) {
+    long positive = Math.max(0, value);
+    buckets.incrementAndGet(getBucketIndex(positive));
+    count.incrementAndGet();
+    sum.addAndGet(positive);
+    max.accumulateAndGet(positive, Math::max);
+  }
+
+  /**
+   * Adds all values recorded by another histogram to this one.
+   *
+   * @param other histogram to add
+   */
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      long bucketCount = other.buckets.get(i);
+      if (0 != bucketCount) {
+        buckets.addAndGet(i, bucketCount);
+      }
+    }
+    count.addAndGet(other.count.get());
+    sum.addAndGet(other.sum.get());
+    max.accumulateAndGet(other.max.get(), Math::max);
+  }
+
+  /** Clears all recorded values. */
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  /**
+   * Returns number of recorded values.
+   *
+   * @return number of recorded values
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Returns the highest recorded value.
+   *
+   * @return highest recorded value, 0 if nothing was recorded
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns the mean of recorded values.
+   *
+   * @return mean value, 0 if nothing was recorded
+   */
+  public double getMean() {
+    long total = count.get();
+    return 0 == total ? 0 : (double) sum.get() / total;
+  }
+
+  /**
+   * Returns the value below which the given percentage of recorded values fall.
+   *
+   * @param percentile percentile, e.g. 95.0
+   * @return upper bound of the percentile bucket, capped by the highest recorded value
+   */
+  public long getPercentile(double percentile) {
+    long total = count.get();
+    if (0 == total) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, percentile) / 100.0));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += buckets.get(i);
+      if (seen >= rank) {
+        return Math.min(getBucketUpperBound(i), max.get());
+      }
+    }
+    return max.get();
+  }
+}
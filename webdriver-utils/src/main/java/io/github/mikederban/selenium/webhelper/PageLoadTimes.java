@@ -0,0 +1,184 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Observed page load times per URL template, see {@link UrlTemplate}, persisted between runs.
+ *
+ * <p>The most recent {@value #MAX_SAMPLES} load times of every URL template are kept. The store is
+ * a JSON file which is read on first use and written when the JVM shuts down; when several JVMs
+ * share the file, the last one to exit wins.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class PageLoadTimes {
+
+  static final int MAX_SAMPLES = 100;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PageLoadTimes.class);
+  private static final Map<String, PageLoadTimes> STORES = new ConcurrentHashMap<>();
+
+  private final File file;
+  private final Map<String, Deque<Long>> samples = new ConcurrentHashMap<>();
+  private final Set<String> timedOut = ConcurrentHashMap.newKeySet(); // Not persisted
+
+  /**
+   * Constructor.
+   *
+   * @param file store file
+   */
+  private PageLoadTimes(File file) {
+    this.file = file;
+    load();
+    Runtime.getRuntime().addShutdownHook(new Thread(this::store, "webdriver-page-load-times"));
+  }
+
+  /**
+   * Returns the load times kept in the given file, reading it on first use. Load times are shared
+   * by all helpers using the same file.
+   *
+   * @param file store file
+   * @return page load times
+   */
+  public static PageLoadTimes of(File file) {
+    return STORES.computeIfAbsent(file.getAbsolutePath(), path -> new PageLoadTimes(file));
+  }
+
+  /**
+   * Records the load time of a page.
+   *
+   * @param urlTemplate URL template
+   * @param loadMs load time in milliseconds
+   */
+  public void record(String urlTemplate, long loadMs) {
+    Deque<Long> window = samples.computeIfAbsent(urlTemplate, template -> new ArrayDeque<>());
+    synchronized (window) {
+      if (MAX_SAMPLES <= window.size()) {
+        window.removeFirst();
+      }
+      window.addLast(loadMs);
+    }
+  }
+
+  /**
+   * Records that a page did not load within its adaptive timeout. The timeout is recorded as a
+   * lower bound of the load time, and the next navigation to the URL template gets the static
+   * timeout, so that the real load time can be observed again.
+   *
+   * @param urlTemplate URL template
+   * @param timeoutMs adaptive timeout in milliseconds
+   */
+  public void recordTimeout(String urlTemplate, long timeoutMs) {
+    record(urlTemplate, timeoutMs);
+    timedOut.add(urlTemplate);
+  }
+
+  /**
+   * Checks whether the last navigation to a URL template timed out, and clears the mark.
+   *
+   * @param urlTemplate URL template
+   * @return true if the next navigation must get the static timeout
+   */
+  public boolean clearTimedOut(String urlTemplate) {
+    return timedOut.remove(urlTemplate);
+  }
+
+  /**
+   * Returns a percentile of the recent load times of a URL template.
+   *
+   * @param urlTemplate URL template
+   * @param percentile percentile, e.g. 99
+   * @param minSamples minimum number of load times needed for a meaningful percentile
+   * @return load time in milliseconds, -1 if fewer load times were recorded
+   */
+  public long getPercentile(String urlTemplate, double percentile, int minSamples) {
+    Deque<Long> window = samples.get(urlTemplate);
+    if (null == window) {
+      return -1;
+    }
+    long[] sorted;
+    synchronized (window) {
+      if (window.size() < Math.max(1, minSamples)) {
+        return -1;
+      }
+      sorted = window.stream().mapToLong(Long::longValue).toArray();
+    }
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+  }
+
+  /** Reads load times of earlier runs. Errors are logged and the store starts empty. */
+  private void load() {
+    if (!file.isFile()) {
+      return;
+    }
+    try {
+      Map<String, Object> stored =
+          new Json()
+              .toType(
+                  new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8),
+                  Json.MAP_TYPE);
+      stored.forEach(
+          (template, values) -> {
+            if (values instanceof List) {
+              ((List<?>) values)
+                  .stream()
+                  .filter(Number.class::isInstance)
+                  .forEach(value -> record(template, ((Number) value).longValue()));
+            }
+          });
+    } catch (IOException | JsonException e) {
+      LOGGER.warn(String.format("Page load times [%s] cannot be read", file), e);
+    }
+  }
+
+  /** Writes the load times, replacing the file atomically. */
+  private void store() {
+    Map<String, List<Long>> stored = new TreeMap<>();
+    samples.forEach(
+        (template, window) -> {
+          synchronized (window) {
+            stored.put(template, new ArrayList<>(window));
+          }
+        });
+    StringBuilder json = new StringBuilder();
+    new Json().newOutput(json).setPrettyPrint(false).write(stored);
+    try {
+      Path dir = file.getAbsoluteFile().toPath().getParent();
+      Files.createDirectories(dir);
+      Path temp = Files.createTempFile(dir, file.getName(), ".tmp");
+      try {
+        Files.write(temp, json.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(
+            temp,
+            file.toPath(),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      LOGGER.error(String.format("Page load times cannot be written to [%s]", file), e);
+    }
+  }
+}
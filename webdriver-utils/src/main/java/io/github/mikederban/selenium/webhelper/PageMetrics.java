@@ -0,0 +1,112 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Page performance metrics aggregated per URL template, see {@link UrlTemplate}.
+ *
+ * <p>Every metric of every URL template is kept in its own {@link LatencyHistogram}. The report is
+ * a CSV file with count, mean, p50, p95, p99 and max per URL template and metric; it is written
+ * when the JVM shuts down.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class PageMetrics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PageMetrics.class);
+  private static final Map<String, PageMetrics> REPORTS = new ConcurrentHashMap<>();
+
+  private final File reportFile;
+  private final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param reportFile report file
+   */
+  private PageMetrics(File reportFile) {
+    this.reportFile = reportFile;
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(this::writeReport, "webdriver-page-metrics-report"));
+  }
+
+  /**
+   * Returns the metrics written to the given report file, creating them on first use. Metrics are
+   * shared by all helpers writing to the same report file.
+   *
+   * @param reportFile report file
+   * @return page metrics
+   */
+  public static PageMetrics of(File reportFile) {
+    return REPORTS.computeIfAbsent(
+        reportFile.getAbsolutePath(), path -> new PageMetrics(reportFile));
+  }
+
+  /**
+   * Records a metric value.
+   *
+   * @param urlTemplate URL template
+   * @param metric metric name
+   * @param value metric value
+   */
+  public void record(String urlTemplate, String metric, long value) {
+    getHistogram(urlTemplate, metric).record(value);
+  }
+
+  /**
+   * Returns histogram of a metric.
+   *
+   * @param urlTemplate URL template
+   * @param metric metric name
+   * @return histogram, empty if nothing was recorded
+   */
+  public LatencyHistogram getHistogram(String urlTemplate, String metric) {
+    return histograms
+        .computeIfAbsent(urlTemplate, template -> new ConcurrentHashMap<>())
+        .computeIfAbsent(metric, name -> new LatencyHistogram());
+  }
+
+  /** Writes the report file. */
+  public void writeReport() {
+    File parent = reportFile.getAbsoluteFile().getParentFile();
+    if (null != parent && !parent.isDirectory() && !parent.mkdirs()) {
+      LOGGER.error(String.format("Cannot create report directory [%s]", parent));
+      return;
+    }
+    try (Writer writer = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8)) {
+      writer.write("url_template,metric,count,mean,p50,p95,p99,max\n");
+      for (Map.Entry<String, Map<String, LatencyHistogram>> page :
+          new TreeMap<>(histograms).entrySet()) {
+        for (Map.Entry<String, LatencyHistogram> metric :
+            new TreeMap<>(page.getValue()).entrySet()) {
+          LatencyHistogram histogram = metric.getValue();
+          writer.write(
+              String.format(
+                  Locale.ROOT,
+                  "\"%s\",%s,%d,%.1f,%d,%d,%d,%d\n",
+                  page.getKey().replace("\"", "\"\""),
+                  metric.getKey(),
+                  histogram.getCount(),
+                  histogram.getMean(),
+                  histogram.getPercentile(50),
+                  histogram.getPercentile(95),
+                  histogram.getPercentile(99),
+                  histogram.getMax()));
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.error(String.format("Error writing page metrics report [%s]", reportFile), e);
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Navigation;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects page performance metrics after every navigation to a URL: Navigation Timing and paint
+ * timing entries, and DevTools {@code Performance.getMetrics} on Chromium based browsers.
+ *
+ * <p>Back, forward and refresh are not measured. A page restored from the back/forward cache still
+ * reports the Navigation Timing entry of its original load, which would be recorded twice.
+ *
+ * <p>Timings are recorded in milliseconds. DevTools durations are cumulative for the browser tab,
+ * so the difference to the previous navigation is recorded.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class PageMetricsListener implements WebDriverListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PageMetricsListener.class);
+  private static final String KEY_HREF = "href";
+  private static final String SCRIPT_TIMINGS =
+      "var r = {href: location.href}, p = window.performance;"
+          + "if (!p) { return r; }"
+          + "var n = p.getEntriesByType ? p.getEntriesByType('navigation')[0] : null;"
+          + "if (n) {"
+          + "  if (n.responseStart > 0) { r.ttfb = n.responseStart - n.startTime; }"
+          + "  if (n.domContentLoadedEventEnd > 0) {"
+          + "    r.domContentLoaded = n.domContentLoadedEventEnd - n.startTime; }"
+          + "  if (n.loadEventEnd > 0) { r.load = n.loadEventEnd - n.startTime; }"
+          + "} else if (p.timing) {"
+          + "  var t = p.timing;"
+          + "  if (t.responseStart > 0) { r.ttfb = t.responseStart - t.navigationStart; }"
+          + "  if (t.domContentLoadedEventEnd > 0) {"
+          + "    r.domContentLoaded = t.domContentLoadedEventEnd - t.navigationStart; }"
+          + "  if (t.loadEventEnd > 0) { r.load = t.loadEventEnd - t.navigationStart; }"
+          + "}"
+          + "if (p.getEntriesByType) {"
+          + "  p.getEntriesByType('paint').forEach(function (e) { r[e.name] = e.startTime; });"
+          + "}"
+          + "return r;";
+  private static final String CDP_PREFIX = "cdp.";
+  private static final String CDP_DURATION_SUFFIX = "Duration";
+  private static final List<String> CDP_METRICS =
+      List.of(
+          "Nodes",
+          "JSHeapUsedSize",
+          "LayoutDuration",
+          "RecalcStyleDuration",
+          "ScriptDuration",
+          "TaskDuration");
+
+  private final WebDriver driver;
+  private final CdpCommandExecutor cdpCommandExecutor;
+  private final PageMetrics pageMetrics;
+  private final Map<String, Double> previousDurations = new HashMap<>();
+  private boolean cdpEnabled;
+
+  /**
+   * Constructor.
+   *
+   * @param driver undecorated web driver, used to query metrics
+   * @param cdpCommandExecutor DevTools command executor, null if not supported by the browser
+   * @param pageMetrics metrics to record to
+   */
+  public PageMetricsListener(
+      WebDriver driver, CdpCommandExecutor cdpCommandExecutor, PageMetrics pageMetrics) {
+    this.driver = driver;
+    this.cdpCommandExecutor = cdpCommandExecutor;
+    this.pageMetrics = pageMetrics;
+  }
+
+  @Override
+  public void afterGet(WebDriver driver, String url) {
+    collect();
+  }
+
+  @Override
+  public void afterTo(Navigation navigation, String url) {
+    collect();
+  }
+
+  @Override
+  public void afterTo(Navigation navigation, URL url) {
+    collect();
+  }
+
+  /** Queries the metrics of the current page and records them. Errors are logged and ignored. */
+  private synchronized void collect() {
+    try {
+      Object result = ((JavascriptExecutor) driver).executeScript(SCRIPT_TIMINGS);
+      if (!(result instanceof Map)) {
+        return;
+      }
+      Map<?, ?> timings = (Map<?, ?>) result;
+      String template = UrlTemplate.of(String.valueOf(timings.get(KEY_HREF)));
+      timings.forEach(
+          (name, value) -> {
+            if (value instanceof Number) {
+              long rounded = Math.round(((Number) value).doubleValue());
+              pageMetrics.record(template, String.valueOf(name), rounded);
+            }
+          });
+      if (null != cdpCommandExecutor) {
+        collectDevToolsMetrics(template);
+      }
+    } catch (WebDriverException | ClassCastException e) {
+      LOGGER.debug("Page metrics were not collected", e);
+    }
+  }
+
+  /**
+   * Queries DevTools performance metrics and records them.
+   *
+   * @param template URL template of the current page
+   */
+  private void collectDevToolsMetrics(String template) {
+    if (!cdpEnabled) {
+      cdpCommandExecutor.execute("Performance.enable", Collections.emptyMap());
+      cdpEnabled = true;
+    }
+    Object metrics =
+        cdpCommandExecutor.execute("Performance.getMetrics", Collections.emptyMap()).get("metrics");
+    if (!(metrics instanceof List)) {
+      return;
+    }
+    for (Object metric : (List<?>) metrics) {
+      Map<?, ?> entry = (Map<?, ?>) metric;
+      String name = String.valueOf(entry.get("name"));
+      Object value = entry.get("value");
+      if (CDP_METRICS.contains(name) && value instanceof Number) {
+        double current = ((Number) value).doubleValue();
+        if (name.endsWith(CDP_DURATION_SUFFIX)) {
+          // Seconds, cumulative; a smaller value means the renderer was replaced
+          Double previous = previousDurations.put(name, current);
+          double delta = null == previous || current < previous ? current : current - previous;
+          pageMetrics.record(template, CDP_PREFIX + name, Math.round(delta * 1000));
+        } else {
+          pageMetrics.record(template, CDP_PREFIX + name, Math.round(current));
+        }
+      }
+    }
+  }
+}
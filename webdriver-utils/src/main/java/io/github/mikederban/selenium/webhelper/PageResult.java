@@ -0,0 +1,86 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Result of visiting a single page in a batch, see {@link BatchNavigator}.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+@Getter
+public final class PageResult {
+
+  private final String url;
+  private final String title; // Null if the page failed
+  private final Integer status; // HTTP status of the document, null if the browser does not tell
+  private final List<String> consoleErrors; // Empty unless the browser supports DevTools
+  private final long loadMs;
+  private final int attempts;
+  private final int session; // Index of the session which visited the page
+  private final String error; // Null unless the page failed
+
+  /**
+   * Constructor.
+   *
+   * @param url page URL
+   * @param title document title
+   * @param status HTTP status of the document
+   * @param consoleErrors uncaught errors and console errors of the page
+   * @param loadMs navigation time in milliseconds
+   * @param attempts number of attempts, 1 unless the page was retried
+   * @param session index of the session which visited the page
+   * @param error error message of the last attempt, null if the page was visited
+   */
+  PageResult(
+      String url,
+      String title,
+      Integer status,
+      List<String> consoleErrors,
+      long loadMs,
+      int attempts,
+      int session,
+      String error) {
+    this.url = url;
+    this.title = title;
+    this.status = status;
+    this.consoleErrors = consoleErrors;
+    this.loadMs = loadMs;
+    this.attempts = attempts;
+    this.session = session;
+    this.error = error;
+  }
+
+  /**
+   * Checks whether the page could not be visited within the maximum number of attempts.
+   *
+   * @return true if the page failed
+   */
+  public boolean isFailed() {
+    return null != error;
+  }
+
+  /**
+   * Serializes the result as a single JSON line.
+   *
+   * @return JSON
+   */
+  public String toJson() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("url", url);
+    map.put("title", title);
+    map.put("status", status);
+    map.put("consoleErrors", consoleErrors);
+    map.put("loadMs", loadMs);
+    map.put("attempts", attempts);
+    map.put("session", session);
+    map.put("error", error);
+    StringBuilder json = new StringBuilder();
+    new Json().newOutput(json).setPrettyPrint(false).write(map);
+    return json.toString();
+  }
+}
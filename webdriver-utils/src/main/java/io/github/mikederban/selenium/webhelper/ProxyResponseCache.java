@@ -0,0 +1,231 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.net.http.HttpHeaders;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Size-bounded LRU cache of HTTP responses for {@link CachingProxy}.
+ *
+ * <p>Only complete {@code 200 OK} responses to GET requests with a positive freshness lifetime are
+ * cached: {@code s-maxage}, {@code max-age} or {@code Expires}, or 10% of the time since {@code
+ * Last-Modified} (at most a day) when none is given. The {@code Last-Modified} heuristic applies
+ * only to static content types such as scripts, styles, images and fonts, never to documents.
+ * Responses which are private, set cookies or vary on request headers other than {@code
+ * Accept-Encoding} are never cached. Responses to requests carrying {@code Authorization} are
+ * cached only if they are explicitly shareable through {@code public}, {@code s-maxage} or {@code
+ * must-revalidate} (RFC 9111, section 3.5); {@link CachingProxy} may apply the same rule to
+ * requests carrying cookies. Expired entries are dropped rather than revalidated.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+final class ProxyResponseCache {
+
+  private static final Pattern PATTERN_MAX_AGE = Pattern.compile("(?:s-maxage|max-age)=(\\d+)");
+  private static final Pattern PATTERN_SHAREABLE =
+      Pattern.compile("(?:^|[\\s,])(?:public|s-maxage|must-revalidate)(?:$|[\\s,=])");
+  private static final Pattern PATTERN_STATIC_TYPE =
+      Pattern.compile(
+          "(?:image|font|audio|video)/.*|text/css|(?:text|application)/(?:x-)?javascript"
+              + "|application/(?:font-.*|wasm|manifest\\+json)");
+  private static final long MAX_HEURISTIC_FRESHNESS_MS = TimeUnit.DAYS.toMillis(1);
+  private static final long ENTRY_OVERHEAD_BYTES = 512;
+  private static final int STATUS_OK = 200;
+
+  private final long maxBytes;
+  private final long maxEntryBytes;
+  private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+  private long sizeBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param maxBytes maximum size of all cached responses
+   * @param maxEntryBytes maximum size of a single cached response
+   */
+  ProxyResponseCache(long maxBytes, long maxEntryBytes) {
+    this.maxBytes = maxBytes;
+    this.maxEntryBytes = Math.min(maxBytes, maxEntryBytes);
+  }
+
+  /**
+   * Returns the cache key of a request, null if responses to the request are not cached.
+   *
+   * @param method request method
+   * @param url absolute request URL
+   * @param acceptEncoding Accept-Encoding request header, null if not sent
+   * @return cache key or null
+   */
+  static String getKey(String method, String url, String acceptEncoding) {
+    return "GET".equals(method)
+        ? String.format("%s\n%s", url, null == acceptEncoding ? "" : acceptEncoding)
+        : null;
+  }
+
+  /**
+   * Returns freshness lifetime of a response.
+   *
+   * @param status response status
+   * @param headers response headers
+   * @param credentials whether the request carried credentials, e.g. an Authorization header
+   * @param now current time in milliseconds
+   * @return freshness lifetime in milliseconds, 0 if the response is not cacheable
+   */
+  static long getFreshnessMillis(int status, HttpHeaders headers, boolean credentials, long now) {
+    String cacheControl = headers.firstValue("cache-control").orElse("").toLowerCase(Locale.ROOT);
+    String vary = headers.firstValue("vary").orElse("").trim().toLowerCase(Locale.ROOT);
+    if (STATUS_OK != status
+        || cacheControl.contains("no-store")
+        || cacheControl.contains("no-cache")
+        || cacheControl.contains("private")
+        || headers.firstValue("set-cookie").isPresent()
+        || !vary.isEmpty() && !"accept-encoding".equals(vary)
+        || credentials && !PATTERN_SHAREABLE.matcher(cacheControl).find()) {
+      return 0;
+    }
+    Matcher maxAge = PATTERN_MAX_AGE.matcher(cacheControl);
+    if (maxAge.find()) {
+      return TimeUnit.SECONDS.toMillis(Long.parseLong(maxAge.group(1)));
+    }
+    long date = parseDate(headers.firstValue("date")).orElse(now);
+    Optional<Long> expires = parseDate(headers.firstValue("expires"));
+    if (expires.isPresent()) {
+      return Math.max(0, expires.get() - date);
+    }
+    String contentType = headers.firstValue("content-type").orElse("").split(";", 2)[0];
+    if (!PATTERN_STATIC_TYPE.matcher(contentType.trim().toLowerCase(Locale.ROOT)).matches()) {
+      return 0; // Documents and API responses change without their Last-Modified telling
+    }
+    return parseDate(headers.firstValue("last-modified"))
+        .map(lastModified -> Math.min(MAX_HEURISTIC_FRESHNESS_MS, (date - lastModified) / 10))
+        .orElse(0L);
+  }
+
+  /**
+   * Parses an HTTP date.
+   *
+   * @param value header value
+   * @return time in milliseconds, empty if the header is missing or invalid
+   */
+  private static Optional<Long> parseDate(Optional<String> value) {
+    try {
+      return value.map(
+          date ->
+              ZonedDateTime.parse(date.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                  .toInstant()
+                  .toEpochMilli());
+    } catch (DateTimeParseException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Returns maximum size of a single cached response.
+   *
+   * @return size in bytes
+   */
+  long getMaxEntryBytes() {
+    return maxEntryBytes;
+  }
+
+  /**
+   * Returns a fresh cached response.
+   *
+   * @param key cache key
+   * @param now current time in milliseconds
+   * @return cached response, null if there is no fresh response
+   */
+  synchronized Entry get(String key, long now) {
+    Entry entry = entries.get(key);
+    if (null != entry && entry.expiresAt <= now) {
+      remove(key);
+      entry = null;
+    }
+    return entry;
+  }
+
+  /**
+   * Caches a response, evicting least recently used responses if the cache is full.
+   *
+   * @param key cache key
+   * @param entry response
+   */
+  synchronized void put(String key, Entry entry) {
+    if (entry.getSizeBytes() > maxEntryBytes) {
+      return;
+    }
+    remove(key);
+    entries.put(key, entry);
+    sizeBytes += entry.getSizeBytes();
+    Iterator<Entry> eldest = entries.values().iterator();
+    while (sizeBytes > maxBytes && eldest.hasNext()) {
+      sizeBytes -= eldest.next().getSizeBytes();
+      eldest.remove();
+    }
+  }
+
+  /**
+   * Returns total size of cached responses.
+   *
+   * @return size in bytes
+   */
+  synchronized long getSizeBytes() {
+    return sizeBytes;
+  }
+
+  /**
+   * Removes a cached response.
+   *
+   * @param key cache key
+   */
+  private void remove(String key) {
+    Entry removed = entries.remove(key);
+    if (null != removed) {
+      sizeBytes -= removed.getSizeBytes();
+    }
+  }
+
+  /** Cached response. */
+  static final class Entry {
+
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final long expiresAt;
+
+    /**
+     * Constructor.
+     *
+     * @param headers response headers to replay, without hop-by-hop headers
+     * @param body response body
+     * @param expiresAt time the response becomes stale, in milliseconds
+     */
+    Entry(Map<String, List<String>> headers, byte[] body, long expiresAt) {
+      this.headers = headers;
+      this.body = body;
+      this.expiresAt = expiresAt;
+    }
+
+    Map<String, List<String>> getHeaders() {
+      return headers;
+    }
+
+    byte[] getBody() {
+      return body;
+    }
+
+    long getSizeBytes() {
+      return body.length + ENTRY_OVERHEAD_BYTES;
+    }
+  }
+}
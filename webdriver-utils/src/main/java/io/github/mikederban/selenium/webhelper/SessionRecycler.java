@@ -0,0 +1,164 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Navigation;
+
+/**
+ * Stable web driver handed out to tests while the helper replaces the browser session behind it.
+ *
+ * <p>Before a navigation to a new page ({@code get()} or {@code navigate().to()}) the session is
+ * recycled if the browser memory crossed the threshold or the session reached its navigation
+ * limit. Recycling never happens in the middle of page interactions, nor before {@code back()},
+ * {@code forward()} or {@code refresh()}, which need the history and page of the current session.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+final class SessionRecycler implements InvocationHandler {
+
+  private final WebDriverHelper helper;
+  private final long maxRssBytes;
+  private final int maxNavigations;
+  private int navigations;
+
+  /**
+   * Constructor.
+   *
+   * @param helper helper owning the browser session
+   * @param maxRssBytes browser memory threshold, 0 to disable
+   * @param maxNavigations navigations per session, 0 to disable
+   */
+  private SessionRecycler(WebDriverHelper helper, long maxRssBytes, int maxNavigations) {
+    this.helper = helper;
+    this.maxRssBytes = maxRssBytes;
+    this.maxNavigations = maxNavigations;
+  }
+
+  /**
+   * Creates a recycling web driver implementing all interfaces of the current driver.
+   *
+   * @param helper helper owning the browser session
+   * @param current current web driver
+   * @param maxRssBytes browser memory threshold, 0 to disable
+   * @param maxNavigations navigations per session, 0 to disable
+   * @return recycling web driver
+   */
+  static WebDriver create(
+      WebDriverHelper helper, WebDriver current, long maxRssBytes, int maxNavigations) {
+    return (WebDriver)
+        Proxy.newProxyInstance(
+            WebDriverHelper.class.getClassLoader(),
+            getAllInterfaces(current.getClass()).toArray(new Class<?>[0]),
+            new SessionRecycler(helper, maxRssBytes, maxNavigations));
+  }
+
+  /**
+   * Returns all public interfaces implemented by a class and its superclasses. Non-public
+   * interfaces, e.g. internals of the Selenium decorators, cannot be implemented by a proxy.
+   *
+   * @param type class
+   * @return public interfaces
+   */
+  static Set<Class<?>> getAllInterfaces(Class<?> type) {
+    Set<Class<?>> interfaces = new LinkedHashSet<>();
+    for (Class<?> current = type; null != current; current = current.getSuperclass()) {
+      collectInterfaces(current, interfaces);
+    }
+    interfaces.removeIf(implemented -> !Modifier.isPublic(implemented.getModifiers()));
+    return interfaces;
+  }
+
+  /**
+   * Collects all interfaces of a type, including inherited ones.
+   *
+   * @param type type
+   * @param interfaces collected interfaces
+   */
+  private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+    for (Class<?> implemented : type.getInterfaces()) {
+      if (interfaces.add(implemented)) {
+        collectInterfaces(implemented, interfaces);
+      }
+    }
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (Object.class == method.getDeclaringClass()) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return String.format("SessionRecycler(%s)", helper.getCurrentDriver());
+      }
+    }
+    if (WebDriver.class == method.getDeclaringClass()) {
+      String name = method.getName();
+      if ("get".equals(name)) {
+        beforeNavigation();
+      } else if ("navigate".equals(name)) {
+        return new RecyclingNavigation();
+      } else if ("quit".equals(name)) {
+        helper.quit(); // stops the helper's background activities as well
+        return null;
+      }
+    }
+    try {
+      return method.invoke(helper.getCurrentDriver(), args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /** Counts the navigation and recycles the session if one of the limits is reached. */
+  private synchronized void beforeNavigation() {
+    navigations++;
+    boolean tooManyNavigations = 0 < maxNavigations && navigations > maxNavigations;
+    boolean tooMuchMemory = 0 < maxRssBytes && helper.getBrowserRssBytes() > maxRssBytes;
+    if (tooManyNavigations || tooMuchMemory) {
+      helper.recycle();
+      navigations = 1;
+    }
+  }
+
+  /** Navigation of the current session, recycling the session before navigating to a new page. */
+  private final class RecyclingNavigation implements Navigation {
+
+    @Override
+    public void back() {
+      helper.getCurrentDriver().navigate().back();
+    }
+
+    @Override
+    public void forward() {
+      helper.getCurrentDriver().navigate().forward();
+    }
+
+    @Override
+    public void to(String url) {
+      beforeNavigation();
+      helper.getCurrentDriver().navigate().to(url);
+    }
+
+    @Override
+    public void to(URL url) {
+      beforeNavigation();
+      helper.getCurrentDriver().navigate().to(url);
+    }
+
+    @Override
+    public void refresh() {
+      helper.getCurrentDriver().navigate().refresh();
+    }
+  }
+}
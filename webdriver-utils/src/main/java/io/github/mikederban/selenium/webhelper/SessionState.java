@@ -0,0 +1,481 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Authenticated state of a browser session: cookies, and local and session storage of the current
+ * origin, optionally with its IndexedDB databases.
+ *
+ * <p>On Chromium based browsers cookies of all domains are captured and restored with DevTools,
+ * and storage is restored by a script which runs before the scripts of the first page loaded from
+ * the origin, so the application finds its storage in place when it starts. Other browsers, and
+ * IndexedDB on any browser, need a page of the origin to restore the state: the session is
+ * navigated to the restore path of the origin first. IndexedDB values must be JSON compatible,
+ * indexes and key paths are recreated.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+@Getter
+public final class SessionState {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SessionState.class);
+  private static final String MARKER = "__webdriverHelperStateRestored";
+
+  private static final String SCRIPT_CAPTURE_STORAGE =
+      "var copy = function (storage) {"
+          + "  var items = {};"
+          + "  for (var i = 0; i < storage.length; i++) {"
+          + "    var key = storage.key(i);"
+          + "    if ('" + MARKER + "' !== key) {"
+          + "      items[key] = storage.getItem(key);"
+          + "    }"
+          + "  }"
+          + "  return items;"
+          + "};"
+          + "return [location.origin, copy(localStorage), copy(sessionStorage)];";
+
+  private static final String SCRIPT_RESTORE_STORAGE =
+      "var state = arguments[0];"
+          + "Object.keys(state.localStorage).forEach(function (key) {"
+          + "  localStorage.setItem(key, state.localStorage[key]);"
+          + "});"
+          + "Object.keys(state.sessionStorage).forEach(function (key) {"
+          + "  sessionStorage.setItem(key, state.sessionStorage[key]);"
+          + "});";
+
+  private static final String SCRIPT_RESTORE_STORAGE_ON_LOAD =
+      "(function (state) {"
+          + "  if (location.origin !== state.origin || sessionStorage.getItem('" + MARKER + "')) {"
+          + "    return;"
+          + "  }"
+          + "  (function () {" + SCRIPT_RESTORE_STORAGE + "})(state);"
+          + "  sessionStorage.setItem('" + MARKER + "', '1');"
+          + "})(%s);";
+
+  private static final String SCRIPT_CLEAR_STORAGE =
+      "try { localStorage.clear(); sessionStorage.clear(); } catch (e) { }";
+
+  private static final String SCRIPT_CAPTURE_INDEXED_DB =
+      "var done = arguments[arguments.length - 1];"
+          + "if (!window.indexedDB || !indexedDB.databases) {"
+          + "  done('[]');"
+          + "  return;"
+          + "}"
+          + "indexedDB.databases().then(function (infos) {"
+          + "  return Promise.all(infos.map(function (info) {"
+          + "    return new Promise(function (resolve, reject) {"
+          + "      var request = indexedDB.open(info.name);"
+          + "      request.onerror = function () { reject(request.error); };"
+          + "      request.onsuccess = function () {"
+          + "        var db = request.result;"
+          + "        var names = Array.prototype.slice.call(db.objectStoreNames);"
+          + "        var dump = {name: db.name, version: db.version, stores: []};"
+          + "        if (!names.length) {"
+          + "          db.close();"
+          + "          resolve(dump);"
+          + "          return;"
+          + "        }"
+          + "        var tx = db.transaction(names, 'readonly');"
+          + "        names.forEach(function (name) {"
+          + "          var store = tx.objectStore(name);"
+          + "          var storeDump = {name: name, keyPath: store.keyPath,"
+          + "              autoIncrement: store.autoIncrement, indexes: [], keys: [], values: []};"
+          + "          Array.prototype.forEach.call(store.indexNames, function (indexName) {"
+          + "            var index = store.index(indexName);"
+          + "            storeDump.indexes.push({name: indexName, keyPath: index.keyPath,"
+          + "                unique: index.unique, multiEntry: index.multiEntry});"
+          + "          });"
+          + "          dump.stores.push(storeDump);"
+          + "          store.openCursor().onsuccess = function (event) {"
+          + "            var cursor = event.target.result;"
+          + "            if (cursor) {"
+          + "              storeDump.keys.push(cursor.primaryKey);"
+          + "              storeDump.values.push(cursor.value);"
+          + "              cursor.continue();"
+          + "            }"
+          + "          };"
+          + "        });"
+          + "        tx.oncomplete = function () { db.close(); resolve(dump); };"
+          + "        tx.onerror = function () { db.close(); reject(tx.error); };"
+          + "      };"
+          + "    });"
+          + "  }));"
+          + "}).then(function (dumps) {"
+          + "  done(JSON.stringify(dumps));"
+          + "}, function (error) {"
+          + "  done('ERROR ' + error);"
+          + "});";
+
+  private static final String SCRIPT_RESTORE_INDEXED_DB =
+      "var done = arguments[arguments.length - 1];"
+          + "Promise.all(JSON.parse(arguments[0]).map(function (dump) {"
+          + "  return new Promise(function (resolve, reject) {"
+          + "    var deletion = indexedDB.deleteDatabase(dump.name);"
+          + "    deletion.onerror = deletion.onsuccess = function () {"
+          + "      var request = indexedDB.open(dump.name, dump.version);"
+          + "      request.onerror = function () { reject(request.error); };"
+          + "      request.onupgradeneeded = function () {"
+          + "        dump.stores.forEach(function (storeDump) {"
+          + "          var store = request.result.createObjectStore(storeDump.name,"
+          + "              {keyPath: storeDump.keyPath, autoIncrement: storeDump.autoIncrement});"
+          + "          storeDump.indexes.forEach(function (index) {"
+          + "            store.createIndex(index.name, index.keyPath,"
+          + "                {unique: index.unique, multiEntry: index.multiEntry});"
+          + "          });"
+          + "        });"
+          + "      };"
+          + "      request.onsuccess = function () {"
+          + "        var db = request.result;"
+          + "        if (!dump.stores.length) {"
+          + "          db.close();"
+          + "          resolve();"
+          + "          return;"
+          + "        }"
+          + "        var names = dump.stores.map(function (storeDump) { return storeDump.name; });"
+          + "        var tx = db.transaction(names, 'readwrite');"
+          + "        dump.stores.forEach(function (storeDump) {"
+          + "          var store = tx.objectStore(storeDump.name);"
+          + "          storeDump.values.forEach(function (value, i) {"
+          + "            null === storeDump.keyPath"
+          + "                ? store.put(value, storeDump.keys[i]) : store.put(value);"
+          + "          });"
+          + "        });"
+          + "        tx.oncomplete = function () { db.close(); resolve(); };"
+          + "        tx.onerror = function () { db.close(); reject(tx.error); };"
+          + "      };"
+          + "    };"
+          + "  });"
+          + "})).then(function () { done(null); }, function (error) { done('ERROR ' + error); });";
+
+  private final String role;
+  private final long savedAt;
+  private final String origin;
+  private final List<Map<String, Object>> cookies;
+  private final Map<String, String> localStorage;
+  private final Map<String, String> sessionStorage;
+  private final String indexedDb; // JSON array of databases, null if not captured
+
+  /**
+   * Constructor.
+   *
+   * @param role user or role the state belongs to
+   * @param savedAt time the state was captured, in milliseconds
+   * @param origin origin of the page the storage was captured from
+   * @param cookies cookies in DevTools format
+   * @param localStorage local storage items
+   * @param sessionStorage session storage items
+   * @param indexedDb IndexedDB databases as JSON, null if not captured
+   */
+  private SessionState(
+      String role,
+      long savedAt,
+      String origin,
+      List<Map<String, Object>> cookies,
+      Map<String, String> localStorage,
+      Map<String, String> sessionStorage,
+      String indexedDb) {
+    this.role = role;
+    this.savedAt = savedAt;
+    this.origin = origin;
+    this.cookies = cookies;
+    this.localStorage = localStorage;
+    this.sessionStorage = sessionStorage;
+    this.indexedDb = indexedDb;
+  }
+
+  /**
+   * Captures the state of a browser session. The session must show a page of the origin whose
+   * storage is captured.
+   *
+   * @param role user or role the state belongs to
+   * @param driver web driver
+   * @param cdp DevTools command executor, null if the browser does not support DevTools
+   * @param includeIndexedDb whether IndexedDB databases of the origin are captured
+   * @return session state
+   * @throws WebDriverException if the state cannot be captured
+   */
+  public static SessionState capture(
+      String role, WebDriver driver, CdpCommandExecutor cdp, boolean includeIndexedDb) {
+    JavascriptExecutor js = (JavascriptExecutor) driver;
+    List<?> storage = (List<?>) js.executeScript(SCRIPT_CAPTURE_STORAGE);
+    String indexedDb = null;
+    if (includeIndexedDb) {
+      indexedDb = String.valueOf(js.executeAsyncScript(SCRIPT_CAPTURE_INDEXED_DB));
+      if (indexedDb.startsWith("ERROR")) {
+        throw new WebDriverException(String.format("IndexedDB cannot be captured: %s", indexedDb));
+      }
+    }
+    return new SessionState(
+        role,
+        System.currentTimeMillis(),
+        String.valueOf(storage.get(0)),
+        captureCookies(driver, cdp),
+        toStringMap(storage.get(1)),
+        toStringMap(storage.get(2)),
+        indexedDb);
+  }
+
+  /**
+   * Returns cookies of the browser session in DevTools format.
+   *
+   * @param driver web driver
+   * @param cdp DevTools command executor, null to capture cookies of the current domain only
+   * @return cookies
+   */
+  private static List<Map<String, Object>> captureCookies(
+      WebDriver driver, CdpCommandExecutor cdp) {
+    List<Map<String, Object>> result = new ArrayList<>();
+    if (null != cdp) {
+      Object cookies = cdp.execute("Network.getAllCookies", Collections.emptyMap()).get("cookies");
+      if (cookies instanceof List) {
+        ((List<?>) cookies)
+            .forEach(cookie -> result.add(WebDriverHelper.toCookieParam((Map<?, ?>) cookie)));
+      }
+      return result;
+    }
+    for (Cookie cookie : driver.manage().getCookies()) {
+      Map<String, Object> param = new HashMap<>();
+      param.put("name", cookie.getName());
+      param.put("value", cookie.getValue());
+      param.put("domain", cookie.getDomain());
+      param.put("path", cookie.getPath());
+      param.put("secure", cookie.isSecure());
+      param.put("httpOnly", cookie.isHttpOnly());
+      if (null != cookie.getSameSite()) {
+        param.put("sameSite", cookie.getSameSite());
+      }
+      if (null != cookie.getExpiry()) {
+        param.put("expires", cookie.getExpiry().getTime() / 1000);
+      }
+      result.add(param);
+    }
+    return result;
+  }
+
+  /**
+   * Restores the state into a browser session.
+   *
+   * @param driver web driver
+   * @param cdp DevTools command executor, null if the browser does not support DevTools
+   * @param restorePath path of the origin to navigate to when the state cannot be restored without
+   *     a page of the origin, e.g. / or /favicon.ico
+   * @return identifier of the DevTools script which restores storage on the first page of the
+   *     origin, null if the state was restored directly
+   */
+  public String restore(WebDriver driver, CdpCommandExecutor cdp, String restorePath) {
+    if (null != cdp) {
+      List<Map<String, Object>> cookieParams = new ArrayList<>();
+      cookies.forEach(cookie -> cookieParams.add(WebDriverHelper.toCookieParam(cookie)));
+      cdp.execute("Network.setCookies", Map.of("cookies", cookieParams));
+      if (null == indexedDb) {
+        if (localStorage.isEmpty() && sessionStorage.isEmpty()) {
+          return null;
+        }
+        String source = String.format(SCRIPT_RESTORE_STORAGE_ON_LOAD, toStorageJson());
+        return String.valueOf(
+            cdp.execute("Page.addScriptToEvaluateOnNewDocument", Map.of("source", source))
+                .get("identifier"));
+      }
+    }
+    driver.get(origin + restorePath);
+    if (null == cdp) {
+      cookies.forEach(cookie -> addCookie(driver, cookie));
+    }
+    JavascriptExecutor js = (JavascriptExecutor) driver;
+    js.executeScript(SCRIPT_RESTORE_STORAGE, toStorageMap());
+    if (null != indexedDb) {
+      Object error = js.executeAsyncScript(SCRIPT_RESTORE_INDEXED_DB, indexedDb);
+      if (null != error) {
+        throw new WebDriverException(String.format("IndexedDB cannot be restored: %s", error));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Deletes cookies and storage of the current origin from a browser session.
+   *
+   * @param driver web driver
+   * @param cdp DevTools command executor, null to delete cookies of the current domain only
+   */
+  static void clear(WebDriver driver, CdpCommandExecutor cdp) {
+    if (null == cdp) {
+      driver.manage().deleteAllCookies();
+    } else {
+      cdp.execute("Network.clearBrowserCookies", Collections.emptyMap());
+    }
+    ((JavascriptExecutor) driver).executeScript(SCRIPT_CLEAR_STORAGE);
+  }
+
+  /**
+   * Adds a cookie with WebDriver, the cookie must belong to the current domain.
+   *
+   * @param driver web driver
+   * @param cookie cookie in DevTools format
+   */
+  private static void addCookie(WebDriver driver, Map<String, Object> cookie) {
+    Cookie.Builder builder =
+        new Cookie.Builder(String.valueOf(cookie.get("name")), String.valueOf(cookie.get("value")))
+            .path(String.valueOf(cookie.getOrDefault("path", "/")))
+            .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+            .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")));
+    String domain = (String) cookie.get("domain");
+    if (null != domain && domain.startsWith(".")) { // host-only cookies get the current host
+      builder.domain(domain);
+    }
+    if (null != cookie.get("sameSite")) {
+      builder.sameSite(String.valueOf(cookie.get("sameSite")));
+    }
+    if (cookie.get("expires") instanceof Number) {
+      builder.expiresOn(new Date(((Number) cookie.get("expires")).longValue() * 1000));
+    }
+    try {
+      driver.manage().addCookie(builder.build());
+    } catch (WebDriverException e) {
+      LOGGER.debug(String.format("Cookie [%s] of [%s] not restored", cookie.get("name"), domain));
+    }
+  }
+
+  /**
+   * Checks whether the state is too old or an authentication cookie expired.
+   *
+   * @param now current time in milliseconds
+   * @param maxAgeMs maximum age of the state, 0 for no limit
+   * @param requiredCookies names of cookies which must be present and not expired
+   * @return true if the state must not be restored
+   */
+  public boolean isExpired(long now, long maxAgeMs, Collection<String> requiredCookies) {
+    if (0 < maxAgeMs && savedAt + maxAgeMs <= now) {
+      return true;
+    }
+    for (String name : requiredCookies) {
+      boolean valid =
+          cookies.stream()
+              .filter(cookie -> name.equals(cookie.get("name")))
+              .anyMatch(
+                  cookie ->
+                      !(cookie.get("expires") instanceof Number)
+                          || ((Number) cookie.get("expires")).doubleValue() * 1000 > now);
+      if (!valid) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns origin and storage items, without cookies which must not be exposed to page scripts.
+   *
+   * @return storage state
+   */
+  private Map<String, Object> toStorageMap() {
+    return Map.of(
+        "origin", origin, "localStorage", localStorage, "sessionStorage", sessionStorage);
+  }
+
+  /**
+   * Returns origin and storage items as JSON, which is also a JavaScript object literal.
+   *
+   * @return storage state as JSON
+   */
+  private String toStorageJson() {
+    StringBuilder json = new StringBuilder();
+    new Json().newOutput(json).setPrettyPrint(false).write(toStorageMap());
+    return json.toString();
+  }
+
+  /**
+   * Returns the state as a map, for JSON serialization.
+   *
+   * @return state
+   */
+  Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("role", role);
+    map.put("savedAt", savedAt);
+    map.put("origin", origin);
+    map.put("cookies", cookies);
+    map.put("localStorage", localStorage);
+    map.put("sessionStorage", sessionStorage);
+    if (null != indexedDb) {
+      map.put("indexedDb", indexedDb);
+    }
+    return map;
+  }
+
+  /**
+   * Returns the state as compact JSON.
+   *
+   * @return JSON
+   */
+  String toJson() {
+    StringBuilder json = new StringBuilder();
+    new Json().newOutput(json).setPrettyPrint(false).write(toMap());
+    return json.toString();
+  }
+
+  /**
+   * Parses a state written by {@link #toJson()}.
+   *
+   * @param json JSON
+   * @return session state
+   * @throws JsonException if the JSON is not a session state
+   */
+  @SuppressWarnings("unchecked")
+  static SessionState fromJson(String json) {
+    Map<String, Object> map = new Json().toType(json, Json.MAP_TYPE);
+    if (!(map.get("savedAt") instanceof Number)
+        || !(map.get("origin") instanceof String)
+        || !(map.get("cookies") instanceof List)
+        || null != map.get("indexedDb") && !(map.get("indexedDb") instanceof String)) {
+      throw new JsonException("Session state lacks savedAt, origin or cookies");
+    }
+    List<Map<String, Object>> cookies = new ArrayList<>();
+    for (Object cookie : (List<?>) map.get("cookies")) {
+      if (!(cookie instanceof Map)) {
+        throw new JsonException(String.format("Invalid cookie [%s]", cookie));
+      }
+      cookies.add((Map<String, Object>) cookie);
+    }
+    return new SessionState(
+        String.valueOf(map.get("role")),
+        ((Number) map.get("savedAt")).longValue(),
+        String.valueOf(map.get("origin")),
+        cookies,
+        toStringMap(map.get("localStorage")),
+        toStringMap(map.get("sessionStorage")),
+        (String) map.get("indexedDb"));
+  }
+
+  /**
+   * Converts storage items returned by a script or parsed from JSON.
+   *
+   * @param items items
+   * @return items as strings
+   */
+  private static Map<String, String> toStringMap(Object items) {
+    Map<String, String> result = new LinkedHashMap<>();
+    if (items instanceof Map) {
+      ((Map<?, ?>) items)
+          .forEach((key, value) -> result.put(String.valueOf(key), String.valueOf(value)));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,238 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import lombok.Getter;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Directory of saved session states, one file per user or role, see {@link SessionState}.
+ *
+ * <p>A saved state is not restored once it is older than the maximum age or one of the required
+ * authentication cookies expired. Files are replaced atomically, so parallel sessions can restore
+ * a state while another session saves it, and are readable by the owner only since they contain
+ * credentials.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class SessionStateStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SessionStateStore.class);
+  private static final String FILE_SUFFIX = ".json";
+
+  @Getter private final File dir;
+  private final long maxAgeMs;
+  private final Collection<String> requiredCookies;
+  private final boolean includeIndexedDb;
+  private final String restorePath;
+
+  /**
+   * Constructor.
+   *
+   * @param dir directory of the state files
+   * @param maxAgeMs maximum age of a saved state, 0 for no limit
+   * @param requiredCookies names of authentication cookies which must be present and not expired
+   * @param includeIndexedDb whether IndexedDB databases are saved
+   * @param restorePath path of the origin to navigate to when the state cannot be restored before
+   *     the first navigation, e.g. / or /favicon.ico
+   */
+  public SessionStateStore(
+      File dir,
+      long maxAgeMs,
+      Collection<String> requiredCookies,
+      boolean includeIndexedDb,
+      String restorePath) {
+    this.dir = dir;
+    this.maxAgeMs = maxAgeMs;
+    this.requiredCookies = requiredCookies;
+    this.includeIndexedDb = includeIndexedDb;
+    this.restorePath = restorePath;
+  }
+
+  /**
+   * Returns the state file of a role.
+   *
+   * @param role user or role
+   * @return state file
+   */
+  public File getFile(String role) {
+    return new File(dir, role.replaceAll("[^A-Za-z0-9._-]", "_") + FILE_SUFFIX);
+  }
+
+  /**
+   * Loads the saved state of a role.
+   *
+   * @param role user or role
+   * @return saved state, null if there is none or it expired
+   */
+  public SessionState load(String role) {
+    File file = getFile(role);
+    if (!file.isFile()) {
+      return null;
+    }
+    try {
+      SessionState state =
+          SessionState.fromJson(
+              new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+      if (state.isExpired(System.currentTimeMillis(), maxAgeMs, requiredCookies)) {
+        LOGGER.info(String.format("Saved session state of [%s] expired", role));
+        return null;
+      }
+      return state;
+    } catch (IOException | JsonException e) {
+      LOGGER.warn(String.format("Saved session state [%s] cannot be read", file), e);
+      return null;
+    }
+  }
+
+  /**
+   * Captures the state of a browser session and saves it for a role. The session must show a page
+   * of the origin whose storage is saved.
+   *
+   * @param role user or role
+   * @param driver web driver
+   * @param cdp DevTools command executor, null if the browser does not support DevTools
+   * @return saved state
+   */
+  public SessionState save(String role, WebDriver driver, CdpCommandExecutor cdp) {
+    SessionState state = SessionState.capture(role, driver, cdp, includeIndexedDb);
+    File file = getFile(role);
+    try {
+      Files.createDirectories(dir.toPath());
+      // Temporary files are created readable by the owner only
+      Path temp = Files.createTempFile(dir.toPath(), file.getName(), ".tmp");
+      try {
+        Files.write(temp, state.toJson().getBytes(StandardCharsets.UTF_8));
+        Files.move(
+            temp,
+            file.toPath(),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      LOGGER.error(String.format("Session state cannot be saved to [%s]", file), e);
+    }
+    return state;
+  }
+
+  /**
+   * Restores the saved state of a role into a browser session.
+   *
+   * @param role user or role
+   * @param driver web driver
+   * @param cdp DevTools command executor, null if the browser does not support DevTools
+   * @return true if a saved state was restored, false if there is none or it expired
+   */
+  public boolean restore(String role, WebDriver driver, CdpCommandExecutor cdp) {
+    SessionState state = load(role);
+    if (null != state) {
+      loadRestorePage(driver, cdp, state, state.restore(driver, cdp, restorePath));
+    }
+    return null != state;
+  }
+
+  /**
+   * Restores the saved state of a role, or logs in and saves the state if there is no valid saved
+   * state. A restored state the application no longer accepts is deleted and the login is run.
+   *
+   * @param role user or role
+   * @param driver web driver
+   * @param cdp DevTools command executor, null if the browser does not support DevTools
+   * @param login logs in through the UI, leaving the session on a page of the application
+   * @param isLoggedIn navigates to a page of the application and checks the user is logged in,
+   *     null to trust a restored state
+   * @return true if a saved state was restored, false if the login was run
+   */
+  public boolean restoreOrLogin(
+      String role,
+      WebDriver driver,
+      CdpCommandExecutor cdp,
+      Consumer<WebDriver> login,
+      Predicate<WebDriver> isLoggedIn) {
+    SessionState state = load(role);
+    if (null != state) {
+      String scriptId = state.restore(driver, cdp, restorePath);
+      if (null == isLoggedIn) {
+        loadRestorePage(driver, cdp, state, scriptId);
+        return true;
+      }
+      boolean loggedIn;
+      try {
+        loggedIn = isLoggedIn.test(driver);
+      } finally {
+        // The check loaded a page of the origin, storage must not be restored again
+        removeScript(cdp, scriptId);
+      }
+      if (loggedIn) {
+        return true;
+      }
+      LOGGER.info(String.format("Saved session state of [%s] was rejected, logging in", role));
+      delete(role);
+      SessionState.clear(driver, cdp);
+    }
+    login.accept(driver);
+    save(role, driver, cdp);
+    return false;
+  }
+
+  /**
+   * Loads the restore path of the origin, on which the DevTools script restores storage, and
+   * removes the script. Left in place, the script would write the saved storage back whenever the
+   * application clears session storage, e.g. on logout.
+   *
+   * @param driver web driver
+   * @param cdp DevTools command executor
+   * @param state restored state
+   * @param scriptId identifier of the DevTools script, null if the state was restored directly
+   */
+  private void loadRestorePage(
+      WebDriver driver, CdpCommandExecutor cdp, SessionState state, String scriptId) {
+    if (null == scriptId) {
+      return;
+    }
+    try {
+      driver.get(state.getOrigin() + restorePath);
+    } finally {
+      removeScript(cdp, scriptId);
+    }
+  }
+
+  /**
+   * Removes the DevTools script which restores storage.
+   *
+   * @param cdp DevTools command executor
+   * @param scriptId identifier of the script, null if there is none
+   */
+  private static void removeScript(CdpCommandExecutor cdp, String scriptId) {
+    if (null != scriptId) {
+      cdp.execute("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", scriptId));
+    }
+  }
+
+  /**
+   * Deletes the saved state of a role.
+   *
+   * @param role user or role
+   */
+  public void delete(String role) {
+    try {
+      Files.deleteIfExists(getFile(role).toPath());
+    } catch (IOException e) {
+      LOGGER.warn(String.format("Saved session state of [%s] cannot be deleted", role), e);
+    }
+  }
+}
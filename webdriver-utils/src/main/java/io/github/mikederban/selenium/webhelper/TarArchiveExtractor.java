@@ -0,0 +1,130 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.Set;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
+
+/**
+ * Extracts compressed tar archives, e.g. geckodriver-v0.30.0-linux64.tar.gz.
+ *
+ * <p>Entries are streamed directly from the archive to the destination directory, no intermediate
+ * files are written. Permission bits of the entries are restored, so extracted drivers stay
+ * executable. Entries pointing outside of the destination directory are rejected.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+final class TarArchiveExtractor implements ArchiveExtractor {
+
+  /** Permissions in the order of the bits of a unix file mode, highest bit first. */
+  private static final PosixFilePermission[] MODE_BITS = {
+    PosixFilePermission.OWNER_READ,
+    PosixFilePermission.OWNER_WRITE,
+    PosixFilePermission.OWNER_EXECUTE,
+    PosixFilePermission.GROUP_READ,
+    PosixFilePermission.GROUP_WRITE,
+    PosixFilePermission.GROUP_EXECUTE,
+    PosixFilePermission.OTHERS_READ,
+    PosixFilePermission.OTHERS_WRITE,
+    PosixFilePermission.OTHERS_EXECUTE
+  };
+
+  private static final int MODE_OWNER_EXECUTE = 0100;
+
+  private final Compression compression;
+
+  /**
+   * Constructor.
+   *
+   * @param compression compression of the tar archive
+   */
+  TarArchiveExtractor(Compression compression) {
+    this.compression = compression;
+  }
+
+  /**
+   * Converts a unix file mode to permissions.
+   *
+   * @param mode unix file mode, e.g. 0755
+   * @return permissions
+   */
+  private static Set<PosixFilePermission> toPermissions(int mode) {
+    Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+    for (int i = 0; i < MODE_BITS.length; i++) {
+      if (0 != (mode & (1 << (MODE_BITS.length - 1 - i)))) {
+        permissions.add(MODE_BITS[i]);
+      }
+    }
+    return permissions;
+  }
+
+  @Override
+  public void extract(InputStream archive, File destDir) throws IOException {
+    Path destPath = destDir.toPath().toAbsolutePath().normalize();
+    Files.createDirectories(destPath);
+    boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    try (TarArchiveInputStream tar =
+        new TarArchiveInputStream(decompress(new BufferedInputStream(archive)))) {
+      for (TarArchiveEntry entry = tar.getNextTarEntry();
+          null != entry;
+          entry = tar.getNextTarEntry()) {
+        Path target = destPath.resolve(entry.getName()).normalize();
+        if (!target.startsWith(destPath)
+            || entry.isSymbolicLink()
+                && !target.resolveSibling(entry.getLinkName()).normalize().startsWith(destPath)) {
+          throw new IOException(
+              String.format("Archive entry [%s] is outside of [%s]", entry.getName(), destDir));
+        }
+        if (entry.isDirectory()) {
+          Files.createDirectories(target);
+        } else if (entry.isSymbolicLink()) {
+          Files.createDirectories(target.getParent());
+          Files.deleteIfExists(target);
+          Files.createSymbolicLink(target, destPath.getFileSystem().getPath(entry.getLinkName()));
+          continue;
+        } else if (entry.isFile()) {
+          Files.createDirectories(target.getParent());
+          Files.copy(tar, target, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+          continue; // Devices, hard links etc. are never part of a driver archive
+        }
+        if (posix) {
+          Files.setPosixFilePermissions(target, toPermissions(entry.getMode()));
+        } else if (0 != (entry.getMode() & MODE_OWNER_EXECUTE)) {
+          target.toFile().setExecutable(true);
+        }
+      }
+    }
+  }
+
+  /**
+   * Wraps the archive into the decompressing stream.
+   *
+   * @param archive compressed archive
+   * @return decompressed tar stream
+   * @throws IOException if the compressed stream header is invalid
+   */
+  private InputStream decompress(InputStream archive) throws IOException {
+    return Compression.XZ == compression
+        ? new XZCompressorInputStream(archive)
+        : new GzipCompressorInputStream(archive);
+  }
+
+  /** Compression formats of tar archives. */
+  enum Compression {
+    GZIP,
+    XZ
+  }
+}
@@ -0,0 +1,67 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reduces URLs to templates, so that metrics of pages which differ only by identifiers can be
+ * aggregated, e.g. {@code https://host/orders/1234?tab=2} becomes {@code https://host/orders/{id}}.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UrlTemplate {
+
+  private static final String PLACEHOLDER_ID = "{id}";
+  private static final int MAX_OPAQUE_PART_LENGTH = 64;
+  private static final Pattern PATTERN_ID =
+      Pattern.compile(
+          "\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}"
+              + "|(?=[0-9a-zA-Z]*\\d)[0-9a-fA-F]{12,}|[0-9A-Za-z_-]{24,}");
+
+  /**
+   * Returns template of a URL: query and fragment are dropped, path segments that look like
+   * identifiers (numbers, UUIDs, hashes, long tokens) are replaced by a placeholder.
+   *
+   * @param url URL
+   * @return URL template
+   */
+  public static String of(String url) {
+    if (null == url) {
+      return "";
+    }
+    URI uri;
+    try {
+      uri = new URI(url);
+    } catch (URISyntaxException e) {
+      int end = url.indexOf('?');
+      return -1 == end ? url : url.substring(0, end);
+    }
+    if (uri.isOpaque()) {
+      // e.g. about:blank, or data: URLs which are reduced to their scheme
+      String part = uri.getRawSchemeSpecificPart();
+      return part.length() > MAX_OPAQUE_PART_LENGTH
+          ? uri.getScheme() + ":"
+          : uri.getScheme() + ":" + part;
+    }
+    StringBuilder template = new StringBuilder(url.length());
+    if (null != uri.getScheme()) {
+      template.append(uri.getScheme()).append("://");
+    }
+    if (null != uri.getRawAuthority()) {
+      template.append(uri.getRawAuthority());
+    }
+    String path = uri.getRawPath();
+    if (null != path && !path.isEmpty()) {
+      for (String segment : (path.startsWith("/") ? path.substring(1) : path).split("/", -1)) {
+        template.append('/');
+        template.append(PATTERN_ID.matcher(segment).matches() ? PLACEHOLDER_ID : segment);
+      }
+    }
+    return template.toString();
+  }
+}
@@ -1,8 +1,8 @@
 package io.github.mikederban.selenium.webhelper;
 
-import io.github.mikederban.selenium.webhelper.OSCheck.OSType;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.Proxy;
@@ -11,13 +11,8 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.FileSystems;
-import java.util.Locale;
-import java.util.UUID;
 import java.util.regex.Pattern;
 import lombok.Getter;
-import net.lingala.zip4j.ZipFile;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +27,7 @@ public final class WebDriverDownload {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverDownload.class);
   private static final Pattern PATTERN_NON_ALPHA = Pattern.compile("[\\x00]|([\r\n])|[\\uFFFD]");
-  private static final String STRING_FORMAT_PATH_FILENAME = "%s%s%s";
+  private static final String DOWNLOAD_DIR_PREFIX = "webdriver";
   private static final String STRING_FORMAT_DOWNLOAD_ERROR = "Error downloading [%s]";
   private static final int TIMEOUT_CONNECT_MS = 5 * 1000;
   private static final int TIMEOUT_READ_MS = 5 * 60 * 1000;
@@ -51,7 +46,8 @@ public final class WebDriverDownload {
    *     LATEST_RELEASE_86, or LATEST_RELEASE
    * @param webdriverArchiveFilename web driver zip file name
    * @param webdriverFilename web driver exe file name
-   * @param downloadDir destination directory for downloaded web driver executable
+   * @param downloadDir destination directory for downloaded web driver executable, null to download
+   *     to a new directory of the default workspace, see {@link WorkspaceManager}
    * @param proxy an optional proxy server. Usually CI build agents don't have direct access to
    *     Internet, and you need to use a proxy server
    */
@@ -68,14 +64,9 @@ public final class WebDriverDownload {
     this.webdriverFilename = webdriverFilename;
     proxyServer = 0 == proxy.length ? "" : proxy[0];
     version = setVersion(versionString);
-    String uuid = String.format("{%s}", UUID.randomUUID().toString().toUpperCase(Locale.ENGLISH));
     destPathString =
         null == downloadDir
-            ? String.format(
-                STRING_FORMAT_PATH_FILENAME,
-                getTermFolderName(),
-                FileSystems.getDefault().getSeparator(),
-                uuid)
+            ? WorkspaceManager.of().createDirectory(DOWNLOAD_DIR_PREFIX).getAbsolutePath()
             : downloadDir;
   }
 
@@ -119,22 +110,6 @@ public final class WebDriverDownload {
     return null == uri ? -1 : uri.getPort();
   }
 
-  /**
-   * Determines temp folder name depending on OS type.
-   *
-   * @return temp folder name
-   */
-  private static String getTermFolderName() {
-    String tempFolder;
-    OSType osType = OSCheck.getOperatingSystemType();
-    if (OSType.LINUX == osType || OSType.MAC_OS == osType) {
-      tempFolder = System.getenv("TMPDIR");
-    } else { // OSType.WINDOWS
-      tempFolder = System.getenv("TEMP");
-    }
-    return tempFolder;
-  }
-
   /**
    * Retrieves the actual version of ChromeDriver to download.
    *
@@ -211,14 +186,14 @@ public final class WebDriverDownload {
   }
 
   /**
-   * Downloads ChromeDriver zip archive, unzips it and copies to the place.
+   * Downloads web driver archive and extracts it to the destination directory. The archive is
+   * extracted while it is downloaded whenever the archive format allows it.
    *
    * @param ver target WebDriver version
    */
   public void download(String ver) {
-    String tempArchiveFileName = getTempArchiveFileName();
+    ArchiveExtractor extractor = ArchiveExtractor.of(webdriverArchiveFilename);
 
-    // Download to the temp location
     String msg1 = String.format("Retrieving data from [%s]...", getDriverDownloadUrl(ver));
     LOGGER.info(msg1);
 
@@ -227,54 +202,26 @@ public final class WebDriverDownload {
     if (null == httpConn) {
       LOGGER.error("Connection was not established");
     } else {
-      try {
-        File tempArchiveFile = new File(tempArchiveFileName);
-        FileUtils.copyInputStreamToFile(httpConn.getInputStream(), tempArchiveFile);
-        String message2 =
-            String.format("Downloaded [%s] version [%s]", tempArchiveFile.getName(), ver);
-        LOGGER.info(message2);
+      try (InputStream is = httpConn.getInputStream()) {
+        extractor.extract(is, new File(destPathString));
+        String message =
+            String.format(
+                "Webdriver [%s] version [%s] is unpacked and ready to use in [%s]",
+                webdriverFilename, ver, destPathString);
+        LOGGER.info(message);
       } catch (IOException e) {
         LOGGER.error(String.format(STRING_FORMAT_DOWNLOAD_ERROR, httpConn.getURL().getPath()), e);
       }
-
-      if (tempArchiveFileName.endsWith(".zip")) {
-        try (ZipFile zipFile = new ZipFile(tempArchiveFileName)) {
-          // Unzip webdriver
-          zipFile.extractAll(destPathString);
-          String message =
-              String.format(
-                  "Webdriver [%s] is unpacked and ready to use in [%s]",
-                  webdriverFilename, destPathString);
-          LOGGER.info(message);
-        } catch (IOException e) {
-          LOGGER.error("Error un-zipping Webdriver archive!", e);
-        }
-      } else {
-        throw new IllegalArgumentException(
-            String.format("Archive [%s] format is unknown to the helper!", tempArchiveFileName));
-      }
     }
   }
 
   /**
-   * Returns fully qualified file name of local driver archive in the temp folder.
+   * Returns download URL of web driver archive.
    *
-   * @return zip file name
+   * @param ver target WebDriver version
+   * @return download URL
    */
   private String getDriverDownloadUrl(String ver) {
     return String.format("%s/%s/%s", fileDownloadUrl, ver, webdriverArchiveFilename);
   }
-
-  /**
-   * Returns fully qualified file name of local driver archive in the temp folder.
-   *
-   * @return zip file name
-   */
-  private String getTempArchiveFileName() {
-    return String.format(
-        STRING_FORMAT_PATH_FILENAME,
-        destPathString,
-        FileSystems.getDefault().getSeparator(),
-        webdriverArchiveFilename);
-  }
 }
@@ -6,11 +6,31 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.FileSystems;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,16 +44,32 @@ public abstract class WebDriverHelper {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverHelper.class);
   private static final String WEBDRIVER_FILENAME_SUFFIX_WIN = ".exe";
+  static final String PLATFORM_LINUX = "linux";
+  static final String PLATFORM_MAC = "mac";
+  static final String PLATFORM_WIN = "win";
+  private static final Set<String> TERMINATED_DRIVERS = ConcurrentHashMap.newKeySet();
+  private static final long MEGABYTE = 1024L * 1024L;
 
-  @Getter @Setter private WebDriver driver;
+  @Setter private WebDriver driver;
+  private WebDriver recyclingDriver; // Null unless session recycling is enabled
+  @Getter(AccessLevel.PROTECTED) private WebDriver rawDriver; // Driver before decoration
+  @Getter private ArtifactPipeline artifactPipeline; // Null unless artifacts.dir is set
+  private BrowserLogCollector logCollector; // Null unless log.collector.dir is set
+  private BrowserProcessMonitor processMonitor; // Null unless browser memory is monitored
+  @Getter private CommandLatencyTracer commandLatencyTracer; // Null unless command.latency.dir set
+  @Getter private ElementCache elementCache; // Null unless element.cache.enabled is set
+  @Getter private SessionStateStore sessionStateStore; // Null unless session.state.dir is set
+  @Getter private BrowserReuse browserReuse; // Null unless browser.reuse.enabled is set
+  private DriverService reusedBrowserService; // Stopped on quit, keeping the browser running
   @Getter private WebDriverOptions webDriverOptions;
+  @Getter private WorkspaceManager workspace;
+  private File sessionDir; // Temp directory of driver and browser processes of the session
   @Getter private String pathString; // Location of the downloaded web driver
   private String proxyServer;
   @Getter private String version;
   private String webdriverDownloadUrl;
   private String webdriverFilename;
   private String webdriverArchiveFilename;
-  private String webdriverSystemPropertyName;
 
   /**
    * Initializes an instance of Selenium web driver using an external property file.
@@ -69,47 +105,212 @@ public abstract class WebDriverHelper {
     Properties properties = getProperties(propsFileName);
     webdriverDownloadUrl = properties.getProperty("webdriver.download.url");
 
-    String wdFilenameSuffix = "";
-    OSType osType = OSCheck.getOperatingSystemType();
+    String platform = getPlatform(OSCheck.getOperatingSystemType());
+    webdriverArchiveFilename = getArchiveFilename(properties, platform);
+    webdriverFilename = getDriverFilename(properties, platform);
+
+    proxyServer =
+        null == properties.getProperty("proxy.server")
+            ? ""
+            : properties.getProperty("proxy.server");
+  }
+
+  /**
+   * Returns platform name used in properties and manifest keys, i.e. linux, mac or win.
+   *
+   * @param osType operating system type
+   * @return platform name
+   */
+  static String getPlatform(OSType osType) {
     if (OSType.LINUX == osType) {
-      webdriverArchiveFilename = properties.getProperty("webdriver.zip.filename.linux");
+      return PLATFORM_LINUX;
     } else if (OSType.MAC_OS == osType) {
-      webdriverArchiveFilename = properties.getProperty("webdriver.zip.filename.mac");
+      return PLATFORM_MAC;
     } else { // OSType.WINDOWS
-      webdriverArchiveFilename = properties.getProperty("webdriver.zip.filename.win");
-      wdFilenameSuffix = String.format("%s%s", wdFilenameSuffix, WEBDRIVER_FILENAME_SUFFIX_WIN);
+      return PLATFORM_WIN;
     }
+  }
 
-    webdriverFilename =
-        String.format("%s%s", properties.getProperty("webdriver.filename"), wdFilenameSuffix);
-
-    webdriverSystemPropertyName = properties.getProperty("webdriver.system.property.name");
+  /**
+   * Returns web driver archive file name for a platform.
+   *
+   * @param properties driver properties
+   * @param platform platform name, i.e. linux, mac or win
+   * @return archive file name, null if the driver is not available for the platform
+   */
+  static String getArchiveFilename(Properties properties, String platform) {
+    return properties.getProperty(String.format("webdriver.zip.filename.%s", platform));
+  }
 
-    proxyServer =
-        null == properties.getProperty("proxy.server")
-            ? ""
-            : properties.getProperty("proxy.server");
+  /**
+   * Returns web driver executable file name for a platform.
+   *
+   * @param properties driver properties
+   * @param platform platform name, i.e. linux, mac or win
+   * @return executable file name
+   */
+  static String getDriverFilename(Properties properties, String platform) {
+    String suffix = PLATFORM_WIN.equals(platform) ? WEBDRIVER_FILENAME_SUFFIX_WIN : "";
+    return String.format("%s%s", properties.getProperty("webdriver.filename"), suffix);
   }
 
   /**
-   * Downloads WebDriver and sets system variable.
+   * Downloads WebDriver. Nothing is published JVM-wide, the driver executable is passed to the
+   * driver service of every session, so helpers with different configurations can be prepared and
+   * initialized in parallel.
    *
    * @param filename properties file name.
    * @param downloadFolder destination folder to download web driver
    */
   private void prepare(String filename, File downloadFolder) {
-    if (OSType.WINDOWS == OSCheck.getOperatingSystemType()) {
+    // Leftover drivers are killed once per JVM, later helpers must not kill drivers of earlier ones
+    if (OSType.WINDOWS == OSCheck.getOperatingSystemType()
+        && TERMINATED_DRIVERS.add(webdriverFilename)) {
       WindowsProcessTerminator.kill(webdriverFilename);
     }
-    String dlFolder = null == downloadFolder ? null : downloadFolder.getAbsolutePath();
     webDriverOptions = new WebDriverOptions(filename);
-    if (proxyServer.isEmpty()) {
-      downloadWebDriver(webDriverOptions.getVersion(), dlFolder);
+    String workspaceDir = webDriverOptions.getProperty("workspace.dir");
+    workspace =
+        null == workspaceDir || workspaceDir.isEmpty()
+            ? WorkspaceManager.of()
+            : WorkspaceManager.of(new File(workspaceDir));
+    String manifestFile = webDriverOptions.getProperty("webdriver.manifest");
+    if (null != manifestFile && useManifest(new File(manifestFile))) {
+      LOGGER.info(String.format("Using prefetched web driver in [%s]", pathString));
     } else {
-      downloadWebDriver(webDriverOptions.getVersion(), dlFolder, proxyServer);
+      String dlFolder =
+          null == downloadFolder
+              ? workspace.createDirectory("webdriver").getAbsolutePath()
+              : downloadFolder.getAbsolutePath();
+      if (proxyServer.isEmpty()) {
+        downloadWebDriver(webDriverOptions.getVersion(), dlFolder);
+      } else {
+        downloadWebDriver(webDriverOptions.getVersion(), dlFolder, proxyServer);
+      }
+    }
+
+    createArtifactPipeline();
+    createSessionStateStore();
+    startCachingProxy();
+    String optionsCapability = webDriverOptions.getProperty("webdriver.options.capability");
+    if (null != optionsCapability) {
+      browserReuse =
+          BrowserReuse.of(
+              webDriverOptions,
+              workspace,
+              webDriverOptions.getProperty("webdriver.filename"),
+              optionsCapability);
     }
+  }
+
+  /**
+   * Looks up the web driver in the manifest written by {@link WebDriverPrefetch}.
+   *
+   * @param manifestFile manifest file
+   * @return true if a prefetched web driver is found and will be used
+   */
+  private boolean useManifest(File manifestFile) {
+    if (!manifestFile.isFile()) {
+      LOGGER.warn(String.format("Web driver manifest [%s] not found", manifestFile));
+      return false;
+    }
+    WebDriverManifest manifest = WebDriverManifest.load(manifestFile);
+    String driverName = webDriverOptions.getProperty("webdriver.filename");
+    String platform = getPlatform(OSCheck.getOperatingSystemType());
+    String requestedVersion = webDriverOptions.getVersion();
+    File driverDir = manifest.getDriverDir(driverName, platform, requestedVersion);
+    if (null == driverDir || !new File(driverDir, webdriverFilename).isFile()) {
+      LOGGER.info(
+          String.format(
+              "Web driver [%s] version [%s] for [%s] is not in the manifest",
+              driverName, requestedVersion, platform));
+      return false;
+    }
+    version = manifest.getVersion(driverName, platform, requestedVersion);
+    pathString = driverDir.getAbsolutePath();
+    webDriverOptions.setPathString(pathString);
+    return true;
+  }
+
+  /** Creates the diagnostic artifact pipeline if an artifacts directory is configured. */
+  private void createArtifactPipeline() {
+    String artifactsDir = webDriverOptions.getProperty("artifacts.dir");
+    if (null != artifactsDir && !artifactsDir.isEmpty()) {
+      artifactPipeline =
+          ArtifactPipeline.of(
+              new File(artifactsDir),
+              Integer.parseInt(webDriverOptions.getProperty("artifacts.queue.capacity", "64")),
+              Integer.parseInt(webDriverOptions.getProperty("artifacts.workers", "1")),
+              Integer.parseInt(webDriverOptions.getProperty("artifacts.batch.size", "8")),
+              Double.parseDouble(webDriverOptions.getProperty("artifacts.screenshot.scale", "1.0")),
+              Boolean.parseBoolean(webDriverOptions.getProperty("artifacts.compress", "true")));
+    }
+  }
+
+  /** Routes browser traffic through the caching proxy shared by all sessions of this JVM. */
+  private void startCachingProxy() {
+    if (Boolean.parseBoolean(webDriverOptions.getProperty("caching.proxy.enabled"))) {
+      CachingProxy cachingProxy =
+          CachingProxy.of(
+              Integer.parseInt(webDriverOptions.getProperty("caching.proxy.port", "0")),
+              Long.parseLong(webDriverOptions.getProperty("caching.proxy.max.mb", "256"))
+                  * MEGABYTE,
+              Long.parseLong(webDriverOptions.getProperty("caching.proxy.max.entry.mb", "8"))
+                  * MEGABYTE,
+              Boolean.parseBoolean(webDriverOptions.getProperty("caching.proxy.cookie.requests")));
+      webDriverOptions.setProxy(cachingProxy.getAddress());
+    }
+  }
+
+  /** Creates the session state store if a session state directory is configured. */
+  private void createSessionStateStore() {
+    String sessionStateDir = webDriverOptions.getProperty("session.state.dir");
+    if (null != sessionStateDir && !sessionStateDir.isEmpty()) {
+      sessionStateStore =
+          new SessionStateStore(
+              new File(sessionStateDir),
+              Long.parseLong(webDriverOptions.getProperty("session.state.max.age.min", "60"))
+                  * 60
+                  * 1000,
+              Arrays.stream(webDriverOptions.getProperty("session.state.cookies", "").split(","))
+                  .map(String::trim)
+                  .filter(name -> !name.isEmpty())
+                  .collect(Collectors.toList()),
+              Boolean.parseBoolean(webDriverOptions.getProperty("session.state.indexeddb")),
+              webDriverOptions.getProperty("session.state.restore.path", "/"));
+    }
+  }
 
-    System.setProperty(webdriverSystemPropertyName, getWebdriverFullFileName());
+  /**
+   * Creates a new temp directory for the driver and browser processes of a session, and returns
+   * the environment variables pointing them to it. Browser profiles and other temporary files are
+   * deleted with the directory when the session quits.
+   *
+   * @return environment variables of the driver service
+   */
+  protected Map<String, String> createDriverEnvironment() {
+    deleteSessionDir();
+    sessionDir = workspace.createDirectory("session");
+    String path = sessionDir.getAbsolutePath();
+    return Map.of("TMPDIR", path, "TMP", path, "TEMP", path);
+  }
+
+  /**
+   * Sets the driver service of a session using a reused browser. Quitting the session stops the
+   * service instead of ending the session, which would close the browser.
+   *
+   * @param service driver service
+   */
+  protected void setReusedBrowserService(DriverService service) {
+    reusedBrowserService = service;
+  }
+
+  /** Deletes the temp directory of the current session. */
+  private void deleteSessionDir() {
+    if (null != sessionDir) {
+      workspace.delete(sessionDir);
+      sessionDir = null;
+    }
   }
 
   /** Loads additional options specific to WebDriver implementation and initializes WebDriver. */
@@ -153,6 +354,355 @@ public abstract class WebDriverHelper {
         .implicitlyWait(Duration.ofSeconds(driverOptions.getImplicitWaitSec()));
     driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(driverOptions.getPageWaitSec()));
     driver.manage().window().maximize();
+    rawDriver = driver;
+    startLogCollector(driverOptions);
+    List<WebDriverListener> listeners = createListeners(driverOptions);
+    if (!listeners.isEmpty()) {
+      driver =
+          new EventFiringDecorator(listeners.toArray(new WebDriverListener[0])).decorate(rawDriver);
+    }
+    if (null != elementCache) {
+      elementCache.attach(driver, rawDriver);
+    }
+    startProcessMonitor(driverOptions);
+  }
+
+  /**
+   * Starts sampling browser memory and enables session recycling if it is configured.
+   *
+   * @param driverOptions web driver options
+   */
+  private void startProcessMonitor(WebDriverOptions driverOptions) {
+    long maxRssBytes =
+        Long.parseLong(driverOptions.getProperty("browser.recycle.rss.mb", "0")) * 1024 * 1024;
+    int maxNavigations =
+        Integer.parseInt(driverOptions.getProperty("browser.recycle.navigations", "0"));
+    if (null != browserReuse && (0 < maxRssBytes || 0 < maxNavigations)) {
+      // A new session would attach to the same browser again, which frees no memory
+      LOGGER.warn("Session recycling is disabled, the browser is reused between sessions");
+      return;
+    }
+    if (0 < maxRssBytes && rawDriver instanceof HasCapabilities) {
+      long intervalMs =
+          Long.parseLong(driverOptions.getProperty("browser.memory.sample.ms", "5000"));
+      processMonitor =
+          BrowserProcessMonitor.of(((HasCapabilities) rawDriver).getCapabilities(), intervalMs)
+              .orElse(null);
+      if (null != processMonitor) {
+        processMonitor.start();
+      }
+    }
+    if (null == recyclingDriver && (0 < maxRssBytes || 0 < maxNavigations)) {
+      recyclingDriver = SessionRecycler.create(this, driver, maxRssBytes, maxNavigations);
+    }
+  }
+
+  /**
+   * Returns the web driver. When session recycling is enabled, the returned driver stays valid
+   * across recycled browser sessions.
+   *
+   * @return web driver
+   */
+  public WebDriver getDriver() {
+    return null == recyclingDriver ? driver : recyclingDriver;
+  }
+
+  /**
+   * Returns the web driver of the current browser session.
+   *
+   * @return web driver of the current session
+   */
+  WebDriver getCurrentDriver() {
+    return driver;
+  }
+
+  /**
+   * Returns resident memory of the browser process tree, as of the last sample.
+   *
+   * @return RSS in bytes, 0 if browser memory is not monitored
+   */
+  public long getBrowserRssBytes() {
+    return null == processMonitor ? 0 : processMonitor.getRssBytes();
+  }
+
+  /**
+   * Replaces the browser session with a new one. Cookies are carried over to the new session on
+   * Chromium based browsers. The current test goes on in the new session, its command latencies
+   * are not reported until the test ends.
+   *
+   * @throws WebDriverException if the new browser session cannot be created
+   */
+  public synchronized void recycle() {
+    LOGGER.info(
+        String.format(
+            "Recycling browser session [%s], browser RSS is [%d] MB",
+            getSessionId(), getBrowserRssBytes() / 1024 / 1024));
+    Object cookies = null;
+    CdpCommandExecutor cdp = getCdpCommandExecutor();
+    if (null != cdp) {
+      try {
+        cookies = cdp.execute("Network.getAllCookies", Collections.emptyMap()).get("cookies");
+      } catch (WebDriverException e) {
+        LOGGER.warn("Cookies cannot be carried over to the new browser session", e);
+      }
+    }
+    String sessionId = getSessionId();
+    stopSession();
+    initialize();
+    if (null == rawDriver) {
+      // The helpers log a failed initialization, the session must not continue on the quit driver
+      throw new WebDriverException(
+          String.format("Browser session [%s] was quit and could not be replaced", sessionId));
+    }
+    cdp = getCdpCommandExecutor();
+    if (cookies instanceof List && null != cdp) {
+      List<Map<String, Object>> cookieParams = new ArrayList<>();
+      ((List<?>) cookies).forEach(cookie -> cookieParams.add(toCookieParam((Map<?, ?>) cookie)));
+      cdp.execute("Network.setCookies", Map.of("cookies", cookieParams));
+    }
+  }
+
+  /**
+   * Converts a DevTools cookie to cookie parameters accepted by Network.setCookies.
+   *
+   * @param cookie cookie as returned by Network.getAllCookies
+   * @return cookie parameters
+   */
+  static Map<String, Object> toCookieParam(Map<?, ?> cookie) {
+    Map<String, Object> param = new HashMap<>();
+    for (String key :
+        List.of("name", "value", "domain", "path", "secure", "httpOnly", "sameSite")) {
+      if (null != cookie.get(key)) {
+        param.put(key, cookie.get(key));
+      }
+    }
+    if (!Boolean.TRUE.equals(cookie.get("session")) && null != cookie.get("expires")) {
+      param.put("expires", cookie.get("expires"));
+    }
+    return param;
+  }
+
+  /**
+   * Creates the listeners of optional features which observe WebDriver commands.
+   *
+   * @param driverOptions web driver options
+   * @return listeners, empty if no such feature is enabled
+   */
+  private List<WebDriverListener> createListeners(WebDriverOptions driverOptions) {
+    List<WebDriverListener> listeners = new ArrayList<>();
+    // First, so that after hooks of other listeners are not part of the measured load time
+    String pageLoadTimesFile = driverOptions.getProperty("page.timeout.adaptive.file");
+    if (null != pageLoadTimesFile && !pageLoadTimesFile.isEmpty()) {
+      listeners.add(
+          new AdaptiveTimeoutListener(
+              rawDriver,
+              PageLoadTimes.of(new File(pageLoadTimesFile)),
+              driverOptions.getPageWaitSec() * 1000,
+              Long.parseLong(driverOptions.getProperty("page.timeout.adaptive.min.sec", "5"))
+                  * 1000,
+              Double.parseDouble(
+                  driverOptions.getProperty("page.timeout.adaptive.percentile", "99")),
+              Double.parseDouble(driverOptions.getProperty("page.timeout.adaptive.factor", "3")),
+              Integer.parseInt(
+                  driverOptions.getProperty("page.timeout.adaptive.min.samples", "20"))));
+    }
+    String pageMetricsReport = driverOptions.getProperty("page.metrics.report");
+    if (null != pageMetricsReport && !pageMetricsReport.isEmpty()) {
+      listeners.add(
+          new PageMetricsListener(
+              rawDriver, getCdpCommandExecutor(), PageMetrics.of(new File(pageMetricsReport))));
+    }
+    String commandLatencyDir = driverOptions.getProperty("command.latency.dir");
+    if (null != commandLatencyDir && !commandLatencyDir.isEmpty()) {
+      if (null == commandLatencyTracer) { // the tracer is kept when the session is recycled
+        commandLatencyTracer =
+            new CommandLatencyTracer(CommandLatencyReport.of(new File(commandLatencyDir)));
+      }
+      listeners.add(commandLatencyTracer);
+    }
+    if (Boolean.parseBoolean(driverOptions.getProperty("element.cache.enabled"))) {
+      if (null == elementCache) { // the cache is kept when the session is recycled
+        elementCache =
+            new ElementCache(
+                Long.parseLong(driverOptions.getProperty("element.cache.max.age.ms", "1000")));
+      }
+      listeners.add(elementCache);
+    }
+    return listeners;
+  }
+
+  /**
+   * Returns session id of the current browser session.
+   *
+   * @return session id
+   */
+  private String getSessionId() {
+    return rawDriver instanceof RemoteWebDriver
+        ? String.valueOf(((RemoteWebDriver) rawDriver).getSessionId())
+        : String.valueOf(System.identityHashCode(rawDriver));
+  }
+
+  /**
+   * Returns DevTools command executor of the current browser session. Overridden by helpers of
+   * Chromium based browsers.
+   *
+   * @return DevTools command executor, or null if the browser does not support DevTools
+   */
+  protected CdpCommandExecutor getCdpCommandExecutor() {
+    return null;
+  }
+
+  /**
+   * Starts streaming browser logs to files if a log directory is configured.
+   *
+   * @param driverOptions web driver options
+   */
+  private void startLogCollector(WebDriverOptions driverOptions) {
+    String logDir = driverOptions.getProperty("log.collector.dir");
+    if (null != logDir && !logDir.isEmpty()) {
+      String driverName = webdriverFilename.replace(WEBDRIVER_FILENAME_SUFFIX_WIN, "");
+      String filePrefix = String.format("%s-%s", driverName, getSessionId());
+      logCollector =
+          new BrowserLogCollector(
+              rawDriver,
+              driverOptions.getLogCollectorTypes(),
+              new File(logDir),
+              filePrefix,
+              Long.parseLong(driverOptions.getProperty("log.collector.interval.ms", "1000")),
+              Long.parseLong(driverOptions.getProperty("log.collector.max.file.mb", "32"))
+                  * 1024
+                  * 1024,
+              Integer.parseInt(driverOptions.getProperty("log.collector.max.files", "5")));
+      logCollector.start();
+    }
+  }
+
+  /** Stops background activities bound to the browser session and quits the web driver. */
+  public void quit() {
+    // Quitting clears the session id of the driver
+    String sessionId = getSessionId();
+    stopSession();
+    if (null != commandLatencyTracer) {
+      // Commands issued after the last test ended are reported under the session id
+      commandLatencyTracer.endTest(sessionId);
+    }
+  }
+
+  /**
+   * Stops background activities bound to the browser session and quits the web driver. Unlike
+   * {@link #quit()}, features spanning recycled sessions, like command latency tracing, go on.
+   */
+  private void stopSession() {
+    if (null != logCollector) {
+      logCollector.stop();
+      logCollector = null;
+    }
+    if (null != processMonitor) {
+      processMonitor.stop();
+      processMonitor = null;
+    }
+    if (null != reusedBrowserService) {
+      reusedBrowserService.stop();
+      reusedBrowserService = null;
+    } else if (null != driver) {
+      driver.quit();
+    }
+    rawDriver = null;
+    deleteSessionDir();
+  }
+
+  /**
+   * Captures a screenshot and hands it over to the artifact pipeline. Only the driver round-trip
+   * happens on the calling thread.
+   *
+   * @param name artifact name, used as part of the file name
+   */
+  public void captureScreenshot(String name) {
+    if (null == artifactPipeline) {
+      LOGGER.warn("Artifact pipeline is not configured, set artifacts.dir to capture screenshots");
+    } else {
+      artifactPipeline.submitScreenshot(
+          name, ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64));
+    }
+  }
+
+  /**
+   * Captures the current page source and hands it over to the artifact pipeline. Only the driver
+   * round-trip happens on the calling thread.
+   *
+   * @param name artifact name, used as part of the file name
+   */
+  public void capturePageSource(String name) {
+    if (null == artifactPipeline) {
+      LOGGER.warn("Artifact pipeline is not configured, set artifacts.dir to capture page sources");
+    } else {
+      artifactPipeline.submitPageSource(name, driver.getPageSource());
+    }
+  }
+
+  /**
+   * Takes a snapshot of the current document for local, read-only queries. The whole document is
+   * transferred with a single driver command.
+   *
+   * @return DOM snapshot
+   */
+  public DomSnapshot takeDomSnapshot() {
+    return DomSnapshot.capture(driver);
+  }
+
+  /**
+   * Saves cookies and storage of the current browser session for a user or role. The session must
+   * show a page of the application.
+   *
+   * @param role user or role
+   */
+  public void saveSessionState(String role) {
+    if (null == sessionStateStore) {
+      LOGGER.warn("Session state store is not configured, set session.state.dir to save states");
+    } else {
+      sessionStateStore.save(role, driver, getCdpCommandExecutor());
+    }
+  }
+
+  /**
+   * Restores the saved session state of a user or role, so that the login can be skipped. Must be
+   * called before the first navigation of the session.
+   *
+   * @param role user or role
+   * @return true if a saved state was restored, false if there is none or it expired
+   */
+  public boolean restoreSessionState(String role) {
+    return null != sessionStateStore
+        && sessionStateStore.restore(role, driver, getCdpCommandExecutor());
+  }
+
+  /**
+   * Restores the saved session state of a user or role, or logs in and saves the state. Must be
+   * called before the first navigation of the session.
+   *
+   * @param role user or role
+   * @param login logs in through the UI, leaving the session on a page of the application
+   * @param isLoggedIn navigates to a page of the application and checks the user is logged in,
+   *     null to trust a restored state
+   * @return true if a saved state was restored, false if the login was run
+   */
+  public boolean restoreOrLogin(
+      String role, Consumer<WebDriver> login, Predicate<WebDriver> isLoggedIn) {
+    if (null == sessionStateStore) {
+      login.accept(driver);
+      return false;
+    }
+    return sessionStateStore.restoreOrLogin(
+        role, driver, getCdpCommandExecutor(), login, isLoggedIn);
+  }
+
+  /**
+   * Returns the web driver executable, to be passed to the driver service builder.
+   *
+   * @return web driver executable
+   */
+  protected File getDriverExecutable() {
+    return new File(getWebdriverFullFileName());
   }
 
   /**
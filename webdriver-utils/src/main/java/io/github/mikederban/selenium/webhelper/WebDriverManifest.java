@@ -0,0 +1,129 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Manifest of prefetched web drivers, see {@link WebDriverPrefetch}.
+ *
+ * <p>The manifest is a properties file next to the driver directories. Every driver is listed
+ * under {@code <webdriver.filename>.<platform>.<requested version>} with the actual version it
+ * was resolved to and its directory, relative to the manifest:
+ *
+ * <pre>
+ * chromedriver.linux.LATEST_RELEASE.version=95.0.4638.69
+ * chromedriver.linux.LATEST_RELEASE.path=chromedriver/linux/95.0.4638.69
+ * </pre>
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class WebDriverManifest {
+
+  public static final String FILENAME = "webdriver-manifest.properties";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverManifest.class);
+  private static final String KEY_FORMAT = "%s.%s.%s.%s";
+  private static final String KEY_VERSION = "version";
+  private static final String KEY_PATH = "path";
+
+  @Getter private final File file;
+  private final Properties entries = new Properties();
+
+  /**
+   * Constructor.
+   *
+   * @param file manifest file
+   */
+  private WebDriverManifest(File file) {
+    this.file = file;
+  }
+
+  /**
+   * Loads a manifest. A missing manifest file is treated as an empty manifest.
+   *
+   * @param file manifest file
+   * @return manifest
+   */
+  public static WebDriverManifest load(File file) {
+    WebDriverManifest manifest = new WebDriverManifest(file);
+    if (file.isFile()) {
+      try (InputStream is = Files.newInputStream(file.toPath())) {
+        manifest.entries.load(is);
+      } catch (IOException e) {
+        LOGGER.error(String.format("Error reading web driver manifest [%s]", file), e);
+      }
+    }
+    return manifest;
+  }
+
+  /**
+   * Returns the actual version of a prefetched driver.
+   *
+   * @param driverName driver name, i.e. webdriver.filename property
+   * @param platform platform name, i.e. linux, mac or win
+   * @param requestedVersion version as requested, e.g. LATEST_RELEASE_95
+   * @return actual version, null if the driver is not in the manifest
+   */
+  public String getVersion(String driverName, String platform, String requestedVersion) {
+    return entries.getProperty(
+        String.format(KEY_FORMAT, driverName, platform, requestedVersion, KEY_VERSION));
+  }
+
+  /**
+   * Returns the directory of a prefetched driver.
+   *
+   * @param driverName driver name, i.e. webdriver.filename property
+   * @param platform platform name, i.e. linux, mac or win
+   * @param requestedVersion version as requested, e.g. LATEST_RELEASE_95
+   * @return driver directory, null if the driver is not in the manifest
+   */
+  public File getDriverDir(String driverName, String platform, String requestedVersion) {
+    String path =
+        entries.getProperty(
+            String.format(KEY_FORMAT, driverName, platform, requestedVersion, KEY_PATH));
+    return null == path ? null : new File(file.getAbsoluteFile().getParentFile(), path);
+  }
+
+  /**
+   * Adds a prefetched driver to the manifest.
+   *
+   * @param driverName driver name, i.e. webdriver.filename property
+   * @param platform platform name, i.e. linux, mac or win
+   * @param requestedVersion version as requested, e.g. LATEST_RELEASE_95
+   * @param version actual version
+   * @param driverDir driver directory
+   */
+  public synchronized void put(
+      String driverName, String platform, String requestedVersion, String version, File driverDir) {
+    String relativePath =
+        file.getAbsoluteFile()
+            .getParentFile()
+            .toPath()
+            .relativize(driverDir.getAbsoluteFile().toPath())
+            .toString()
+            .replace(File.separatorChar, '/');
+    entries.setProperty(
+        String.format(KEY_FORMAT, driverName, platform, requestedVersion, KEY_VERSION), version);
+    entries.setProperty(
+        String.format(KEY_FORMAT, driverName, platform, requestedVersion, KEY_PATH), relativePath);
+  }
+
+  /**
+   * Writes the manifest file.
+   *
+   * @throws IOException if the manifest cannot be written
+   */
+  public synchronized void store() throws IOException {
+    try (OutputStream os = Files.newOutputStream(file.toPath())) {
+      entries.store(os, "Prefetched web drivers");
+    }
+  }
+}
@@ -1,9 +1,15 @@
 package io.github.mikederban.selenium.webhelper;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.Setter;
 import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.logging.LoggingPreferences;
 import org.openqa.selenium.remote.CapabilityType;
 
 /**
@@ -36,6 +42,17 @@ public final class WebDriverOptions {
     return properties.getProperty(propertyName);
   }
 
+  /**
+   * Returns property value, or the default value if the property is not set.
+   *
+   * @param propertyName property name
+   * @param defaultValue default value
+   * @return property value
+   */
+  public String getProperty(String propertyName, String defaultValue) {
+    return properties.getProperty(propertyName, defaultValue);
+  }
+
   /** Creates browser options from an external properties file. */
   private void createBrowserOptions() {
     capabilities = new MutableCapabilities();
@@ -45,6 +62,45 @@ public final class WebDriverOptions {
     capabilities.setCapability(
         CapabilityType.ACCEPT_INSECURE_CERTS,
         Boolean.parseBoolean(properties.getProperty("accept.insecure.certs")));
+
+    // Browser logs must be requested up front to be collected later on
+    String logsCapability = properties.getProperty("webdriver.logging.prefs.capability");
+    String logDir = properties.getProperty("log.collector.dir");
+    if (null != logsCapability
+        && !logsCapability.isEmpty()
+        && null != logDir
+        && !logDir.isEmpty()) {
+      LoggingPreferences loggingPrefs = new LoggingPreferences();
+      getLogCollectorTypes().forEach(logType -> loggingPrefs.enable(logType, Level.ALL));
+      capabilities.setCapability(logsCapability, loggingPrefs);
+    }
+  }
+
+  /**
+   * Routes browser traffic through a proxy.
+   *
+   * @param address host and port of the proxy
+   */
+  void setProxy(String address) {
+    Proxy proxy = new Proxy().setHttpProxy(address).setSslProxy(address);
+    String bypass = properties.getProperty("caching.proxy.bypass");
+    if (null != bypass && !bypass.isEmpty()) {
+      proxy.setNoProxy(bypass);
+    }
+    capabilities.setCapability(CapabilityType.PROXY, proxy);
+  }
+
+  /**
+   * Returns log types to collect with the browser log collector.
+   *
+   * @return log types, e.g. browser, performance
+   */
+  public List<String> getLogCollectorTypes() {
+    return Arrays.stream(
+            properties.getProperty("log.collector.types", "browser,performance").split(","))
+        .map(String::trim)
+        .filter(logType -> !logType.isEmpty())
+        .collect(Collectors.toList());
   }
 
   /** Reads other web driver properties. */
@@ -0,0 +1,305 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Command line entry point downloading web drivers ahead of test time, e.g. while building a CI
+ * image.
+ *
+ * <pre>
+ * java -jar webdriver-utils.jar prefetch --browser chrome,edge [--version LATEST_RELEASE]
+ *     [--platform linux,mac,win] [--dir drivers] [--proxy http://proxy.server:8080/]
+ * </pre>
+ *
+ * <p>Driver settings are read from {@code webdriver-<browser>.properties}, found on the class path
+ * or in the working directory. The version defaults to {@code webdriver.version} of the browser
+ * and can be given for all browsers, or per browser as {@code chrome=LATEST_RELEASE_95,edge=95.0}.
+ * Drivers of all platforms are downloaded in parallel to {@code
+ * <dir>/<driver>/<platform>/<version>} and listed in {@link WebDriverManifest}. Helpers use
+ * prefetched drivers instead of downloading them when {@code webdriver.manifest} points to the
+ * manifest.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class WebDriverPrefetch {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverPrefetch.class);
+  private static final String COMMAND_PREFETCH = "prefetch";
+  private static final String USAGE =
+      "Usage: prefetch --browser chrome,edge [--version LATEST_RELEASE | chrome=VERSION,...]"
+          + " [--platform linux,mac,win] [--dir drivers] [--proxy http://proxy.server:8080/]";
+
+  private final List<String> browsers;
+  private final Map<String, String> versions;
+  private final List<String> platforms;
+  private final File driversDir;
+  private final String proxy;
+
+  /**
+   * Constructor.
+   *
+   * @param options command line options, keyed by option name without leading dashes
+   */
+  private WebDriverPrefetch(Map<String, String> options) {
+    if (!options.containsKey("browser")) {
+      throw new IllegalArgumentException("Option --browser is required");
+    }
+    browsers = split(options.get("browser"));
+    versions = parseVersions(options.get("version"), browsers);
+    platforms =
+        split(
+            options.getOrDefault(
+                "platform", WebDriverHelper.getPlatform(OSCheck.getOperatingSystemType())));
+    driversDir = new File(options.getOrDefault("dir", "drivers"));
+    proxy = options.get("proxy");
+  }
+
+  /**
+   * Runs the command line.
+   *
+   * @param args command line arguments
+   */
+  public static void main(String[] args) {
+    int exitCode;
+    try {
+      exitCode = new WebDriverPrefetch(parseOptions(args)).prefetch() ? 0 : 1;
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      exitCode = 2;
+    }
+    System.exit(exitCode);
+  }
+
+  /**
+   * Parses command line arguments.
+   *
+   * @param args command line arguments
+   * @return options, keyed by option name without leading dashes
+   */
+  private static Map<String, String> parseOptions(String[] args) {
+    if (0 == args.length || !COMMAND_PREFETCH.equals(args[0])) {
+      throw new IllegalArgumentException("Unknown command");
+    }
+    Map<String, String> options = new HashMap<>();
+    for (int i = 1; i < args.length; i += 2) {
+      if (!args[i].startsWith("--") || i + 1 == args.length) {
+        throw new IllegalArgumentException(String.format("Invalid option [%s]", args[i]));
+      }
+      options.put(args[i].substring(2), args[i + 1]);
+    }
+    return options;
+  }
+
+  /**
+   * Parses the version option.
+   *
+   * @param option version option, null to use webdriver.version of every browser
+   * @param browsers browsers to prefetch
+   * @return requested versions keyed by browser, missing browsers use webdriver.version
+   */
+  private static Map<String, String> parseVersions(String option, List<String> browsers) {
+    Map<String, String> versions = new HashMap<>();
+    if (null == option) {
+      return versions;
+    }
+    if (!option.contains("=")) {
+      browsers.forEach(browser -> versions.put(browser, option));
+      return versions;
+    }
+    for (String version : split(option)) {
+      String[] pair = version.split("=", 2);
+      versions.put(pair[0].trim(), pair[1].trim());
+    }
+    return versions;
+  }
+
+  /**
+   * Splits a comma separated list.
+   *
+   * @param list comma separated list
+   * @return trimmed, non-empty items
+   */
+  private static List<String> split(String list) {
+    return Arrays.stream(list.split(","))
+        .map(String::trim)
+        .filter(item -> !item.isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Downloads drivers of all requested browsers and platforms and writes the manifest.
+   *
+   * @return true if all drivers were downloaded
+   */
+  private boolean prefetch() {
+    if (!driversDir.isDirectory() && !driversDir.mkdirs()) {
+      LOGGER.error(String.format("Cannot create drivers directory [%s]", driversDir));
+      return false;
+    }
+    WebDriverManifest manifest =
+        WebDriverManifest.load(new File(driversDir, WebDriverManifest.FILENAME));
+    List<PrefetchTask> tasks = new ArrayList<>();
+    for (String browser : browsers) {
+      Properties properties = loadProperties(browser);
+      if (null == properties) {
+        return false;
+      }
+      List<String> browserPlatforms = new ArrayList<>();
+      for (String platform : platforms) {
+        if (null == WebDriverHelper.getArchiveFilename(properties, platform)) {
+          LOGGER.warn(String.format("No [%s] web driver for platform [%s]", browser, platform));
+        } else {
+          browserPlatforms.add(platform);
+        }
+      }
+      if (browserPlatforms.isEmpty()) {
+        continue;
+      }
+      String requestedVersion =
+          versions.getOrDefault(browser, properties.getProperty("webdriver.version"));
+      String version = resolveVersion(properties, requestedVersion, browserPlatforms.get(0));
+      if (null == version || version.isEmpty()) {
+        LOGGER.error(String.format("Cannot resolve [%s] version [%s]", browser, requestedVersion));
+        return false;
+      }
+      browserPlatforms.forEach(
+          platform -> tasks.add(new PrefetchTask(properties, platform, requestedVersion, version)));
+    }
+
+    boolean success = true;
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, tasks.size()));
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      tasks.forEach(task -> results.add(executor.submit(() -> task.run(manifest))));
+      for (Future<Boolean> result : results) {
+        success &= result.get();
+      }
+      manifest.store();
+      LOGGER.info(String.format("Web driver manifest written to [%s]", manifest.getFile()));
+    } catch (ExecutionException | IOException e) {
+      LOGGER.error("Error prefetching web drivers!", e);
+      success = false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      success = false;
+    } finally {
+      executor.shutdownNow();
+    }
+    return success;
+  }
+
+  /**
+   * Loads properties of a browser.
+   *
+   * @param browser browser name, e.g. chrome
+   * @return properties, null if the properties file is not found
+   */
+  private static Properties loadProperties(String browser) {
+    String propsFileName = String.format("webdriver-%s.properties", browser);
+    try (InputStream is = new ResourceLoader().getResourceAsStream(propsFileName)) {
+      if (null == is) {
+        LOGGER.error(String.format("Properties file [%s] not found", propsFileName));
+        return null;
+      }
+      Properties properties = new Properties();
+      properties.load(is);
+      return properties;
+    } catch (IOException e) {
+      LOGGER.error(String.format("Error reading properties file [%s]", propsFileName), e);
+      return null;
+    }
+  }
+
+  /**
+   * Resolves the actual version once for all platforms, e.g. LATEST_RELEASE to 95.0.4638.69.
+   *
+   * @param properties browser properties
+   * @param requestedVersion version as requested
+   * @param platform requested platform for which the browser has a driver
+   * @return actual version
+   */
+  private String resolveVersion(Properties properties, String requestedVersion, String platform) {
+    return newDownload(properties, requestedVersion, platform, driversDir).getVersion();
+  }
+
+  /**
+   * Creates a downloader of a driver.
+   *
+   * @param properties browser properties
+   * @param version version to download
+   * @param platform platform name
+   * @param destDir destination directory
+   * @return downloader
+   */
+  private WebDriverDownload newDownload(
+      Properties properties, String version, String platform, File destDir) {
+    String proxyServer = null == proxy ? properties.getProperty("proxy.server", "") : proxy;
+    return new WebDriverDownload(
+        version,
+        properties.getProperty("webdriver.download.url"),
+        WebDriverHelper.getArchiveFilename(properties, platform),
+        WebDriverHelper.getDriverFilename(properties, platform),
+        destDir.getAbsolutePath(),
+        proxyServer);
+  }
+
+  /** Download of one driver for one platform. */
+  private final class PrefetchTask {
+
+    private final Properties properties;
+    private final String platform;
+    private final String requestedVersion;
+    private final String version;
+
+    private PrefetchTask(
+        Properties properties, String platform, String requestedVersion, String version) {
+      this.properties = properties;
+      this.platform = platform;
+      this.requestedVersion = requestedVersion;
+      this.version = version;
+    }
+
+    /**
+     * Downloads the driver unless it is already there, and adds it to the manifest.
+     *
+     * @param manifest manifest to add the driver to
+     * @return true if the driver is available
+     */
+    private boolean run(WebDriverManifest manifest) {
+      String driverName = properties.getProperty("webdriver.filename");
+      File destDir = new File(driversDir, String.join("/", driverName, platform, version));
+      File driverFile = new File(destDir, WebDriverHelper.getDriverFilename(properties, platform));
+      if (driverFile.isFile()) {
+        LOGGER.info(String.format("Web driver [%s] is already prefetched", driverFile));
+      } else {
+        newDownload(properties, version, platform, destDir).download(version);
+        if (!driverFile.isFile()) {
+          LOGGER.error(String.format("Web driver [%s] was not downloaded", driverFile));
+          return false;
+        }
+        if (!WebDriverHelper.PLATFORM_WIN.equals(platform) && !driverFile.setExecutable(true)) {
+          LOGGER.warn(String.format("Cannot make web driver [%s] executable", driverFile));
+        }
+      }
+      manifest.put(driverName, platform, requestedVersion, version, destDir);
+      return true;
+    }
+  }
+}
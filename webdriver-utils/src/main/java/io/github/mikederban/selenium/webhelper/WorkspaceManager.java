@@ -0,0 +1,296 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Owner of all directories created by the helpers: downloaded web drivers and temporary files of
+ * driver and browser processes.
+ *
+ * <p>Every JVM works in its own directory below the workspace root, named after its process id and
+ * marked with its host name and process start time. Directories are deleted when they are no
+ * longer needed and the whole JVM directory is deleted on shutdown. Directories of JVMs which died
+ * without cleaning up are removed by a background sweep, which checks a bounded number of entries
+ * once per workspace root and JVM.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+public final class WorkspaceManager {
+
+  public static final String ROOT_DIR_NAME = "webdriver-helpers";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceManager.class);
+  private static final Map<Path, WorkspaceManager> MANAGERS = new ConcurrentHashMap<>();
+  private static final String OWNER_FILENAME = ".owner";
+  private static final String OWNER_DIR_SEPARATOR = "-";
+  private static final String HOSTNAME = getHostname();
+  private static final Pattern PATTERN_LEGACY_DIR =
+      Pattern.compile("\\{[0-9A-F]{8}-[0-9A-F]{4}-[0-9A-F]{4}-[0-9A-F]{4}-[0-9A-F]{12}}");
+  private static final long UNOWNED_MAX_AGE_MS = TimeUnit.DAYS.toMillis(1);
+  private static final int SWEEP_MAX_ENTRIES = 256;
+  private static final long SWEEP_MAX_DURATION_MS = TimeUnit.SECONDS.toMillis(30);
+
+  @Getter private final File rootDir;
+  @Getter private final File ownerDir;
+  private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Constructor.
+   *
+   * @param rootDir workspace root directory
+   * @throws IOException if the directory of this JVM cannot be created
+   */
+  private WorkspaceManager(File rootDir) throws IOException {
+    this.rootDir = rootDir;
+    ProcessHandle self = ProcessHandle.current();
+    Path owner =
+        Files.createTempDirectory(
+            Files.createDirectories(rootDir.toPath()), self.pid() + OWNER_DIR_SEPARATOR);
+    ownerDir = owner.toFile();
+    Files.write(
+        owner.resolve(OWNER_FILENAME),
+        String.format(
+                "%s%n%s%n", HOSTNAME, getStartInstant(self).map(Instant::toString).orElse(""))
+            .getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the workspace manager of the default root directory, {@value #ROOT_DIR_NAME} in the
+   * java.io.tmpdir directory.
+   *
+   * @return workspace manager
+   */
+  public static WorkspaceManager of() {
+    return of(new File(System.getProperty("java.io.tmpdir"), ROOT_DIR_NAME));
+  }
+
+  /**
+   * Returns the workspace manager of a root directory, shared by all helpers of the JVM. The first
+   * call creates the directory of this JVM and starts sweeping stale directories.
+   *
+   * @param rootDir workspace root directory
+   * @return workspace manager
+   */
+  public static WorkspaceManager of(File rootDir) {
+    return MANAGERS.computeIfAbsent(
+        rootDir.getAbsoluteFile().toPath().normalize(),
+        root -> {
+          WorkspaceManager manager;
+          try {
+            manager = new WorkspaceManager(root.toFile());
+          } catch (IOException e) {
+            throw new IllegalStateException(
+                String.format("Workspace directory cannot be created in [%s]", root), e);
+          }
+          Runtime.getRuntime()
+              .addShutdownHook(new Thread(manager::close, "webdriver-workspace-cleanup"));
+          Thread sweeper = new Thread(manager::sweep, "webdriver-workspace-sweeper");
+          sweeper.setDaemon(true);
+          sweeper.start();
+          return manager;
+        });
+  }
+
+  /**
+   * Creates a new directory owned by this JVM.
+   *
+   * @param prefix directory name prefix, e.g. webdriver or session
+   * @return new directory
+   * @throws IllegalStateException if the directory cannot be created
+   */
+  public File createDirectory(String prefix) {
+    try {
+      Path dir = Files.createTempDirectory(ownerDir.toPath(), prefix + "-");
+      directories.add(dir);
+      return dir.toFile();
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          String.format("Directory cannot be created in [%s]", ownerDir), e);
+    }
+  }
+
+  /**
+   * Deletes a directory created by {@link #createDirectory(String)} with all its content.
+   *
+   * @param dir directory
+   */
+  public void delete(File dir) {
+    if (directories.remove(dir.toPath())) {
+      deleteRecursively(dir.toPath());
+    }
+  }
+
+  /** Deletes all directories of this JVM. */
+  private void close() {
+    directories.clear();
+    deleteRecursively(ownerDir.toPath());
+  }
+
+  /** Deletes directories of dead processes and legacy download directories. */
+  private void sweep() {
+    long deadline = System.currentTimeMillis() + SWEEP_MAX_DURATION_MS;
+    int checked = 0;
+    int deleted = 0;
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(rootDir.toPath())) {
+      for (Path entry : entries) {
+        if (SWEEP_MAX_ENTRIES <= checked++ || System.currentTimeMillis() > deadline) {
+          break;
+        }
+        if (!entry.equals(ownerDir.toPath()) && Files.isDirectory(entry) && isStale(entry)) {
+          deleteRecursively(entry);
+          deleted++;
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.warn(String.format("Workspace [%s] cannot be swept", rootDir), e);
+    }
+    deleted += sweepLegacyDirectories(deadline);
+    if (0 < deleted) {
+      LOGGER.info(String.format("Deleted [%d] stale workspace directories", deleted));
+    }
+  }
+
+  /**
+   * Deletes download directories of earlier helper versions, named {UUID} in the temp directory.
+   * Only the workspace root located in the temp directory sweeps them.
+   *
+   * @param deadline time to stop at, in milliseconds
+   * @return number of deleted directories
+   */
+  private int sweepLegacyDirectories(long deadline) {
+    int deleted = 0;
+    Path tempDir = Paths.get(System.getProperty("java.io.tmpdir")).toAbsolutePath();
+    if (!tempDir.equals(rootDir.getAbsoluteFile().toPath().getParent())) {
+      return deleted;
+    }
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(tempDir)) {
+      for (Path entry : entries) {
+        if (SWEEP_MAX_ENTRIES <= deleted || System.currentTimeMillis() > deadline) {
+          break;
+        }
+        if (PATTERN_LEGACY_DIR.matcher(entry.getFileName().toString()).matches()
+            && isOlderThan(entry, UNOWNED_MAX_AGE_MS)) {
+          deleteRecursively(entry);
+          deleted++;
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.debug(String.format("Temp directory [%s] cannot be swept", tempDir), e);
+    }
+    return deleted;
+  }
+
+  /**
+   * Checks whether a JVM directory belongs to a process which is no longer running. Directories
+   * without an owner marker, or owned by another host sharing the workspace root, are stale once
+   * they were not modified for a day.
+   *
+   * @param dir JVM directory
+   * @return true if the directory can be deleted
+   */
+  private static boolean isStale(Path dir) {
+    String name = dir.getFileName().toString();
+    List<String> owner;
+    long pid;
+    try {
+      owner = Files.readAllLines(dir.resolve(OWNER_FILENAME), StandardCharsets.UTF_8);
+      pid = Long.parseLong(name.substring(0, name.indexOf(OWNER_DIR_SEPARATOR)));
+    } catch (IOException | RuntimeException e) {
+      return isOlderThan(dir, UNOWNED_MAX_AGE_MS);
+    }
+    if (owner.isEmpty() || !HOSTNAME.equals(owner.get(0))) {
+      return isOlderThan(dir, UNOWNED_MAX_AGE_MS);
+    }
+    Optional<ProcessHandle> process = ProcessHandle.of(pid);
+    if (process.isEmpty() || !process.get().isAlive()) {
+      return true;
+    }
+    // A different start time means the pid was reused by another process
+    String started = 1 < owner.size() ? owner.get(1) : "";
+    Optional<Instant> startInstant = getStartInstant(process.get());
+    return !started.isEmpty()
+        && startInstant.isPresent()
+        && !startInstant.get().toString().equals(started);
+  }
+
+  /**
+   * Returns name of the local host.
+   *
+   * @return host name, empty if it cannot be resolved
+   */
+  private static String getHostname() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (IOException e) {
+      return "";
+    }
+  }
+
+  /**
+   * Returns start time of a process.
+   *
+   * @param process process
+   * @return start time, empty if the platform does not report it
+   */
+  private static Optional<Instant> getStartInstant(ProcessHandle process) {
+    return process.info().startInstant();
+  }
+
+  /**
+   * Checks whether a file was last modified before the given age.
+   *
+   * @param path file or directory
+   * @param ageMs age in milliseconds
+   * @return true if the file is older
+   */
+  private static boolean isOlderThan(Path path, long ageMs) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis() < System.currentTimeMillis() - ageMs;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Deletes a directory with all its content. Files which cannot be deleted, e.g. still locked by
+   * a running process on Windows, are left for the next sweep.
+   *
+   * @param dir directory
+   */
+  static void deleteRecursively(Path dir) {
+    try (Stream<Path> paths = Files.walk(dir)) {
+      paths
+          .sorted(Comparator.reverseOrder())
+          .forEach(
+              path -> {
+                try {
+                  Files.deleteIfExists(path);
+                } catch (IOException e) {
+                  LOGGER.debug(String.format("[%s] cannot be deleted", path));
+                }
+              });
+    } catch (IOException e) {
+      LOGGER.debug(String.format("[%s] cannot be deleted", dir), e);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package io.github.mikederban.selenium.webhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import net.lingala.zip4j.ZipFile;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Extracts zip archives.
+ *
+ * <p>File attributes of zip entries, e.g. the executable bit, are kept in the central directory at
+ * the end of the archive, so the archive is stored in a temporary file first and removed once it
+ * is extracted.
+ *
+ * @author Mike Derban
+ * @since 2026-10-19
+ */
+final class ZipArchiveExtractor implements ArchiveExtractor {
+
+  @Override
+  public void extract(InputStream archive, File destDir) throws IOException {
+    if (!destDir.isDirectory() && !destDir.mkdirs()) {
+      throw new IOException(String.format("Cannot create directory [%s]", destDir));
+    }
+    File tempArchiveFile = File.createTempFile("webdriver-", ".zip", destDir);
+    try {
+      FileUtils.copyInputStreamToFile(archive, tempArchiveFile);
+      try (ZipFile zipFile = new ZipFile(tempArchiveFile)) {
+        zipFile.extractAll(destDir.getAbsolutePath());
+      }
+    } finally {
+      Files.deleteIfExists(tempArchiveFile.toPath());
+    }
+  }
+}